@@ -0,0 +1,50 @@
+package org.folio.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Builds the payloads of the benchmarks from the records recorded in
+ * {@code src/jmh/resources/fixtures}, so that they run without other modules.
+ */
+public final class Fixtures {
+
+  private Fixtures() { }
+
+  public static JsonObject record(String name) {
+    try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Fixture not found: " + name);
+      }
+      return new JsonObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return a collection of copies of the record, each with an id of its own
+   */
+  public static JsonObject collection(String recordName, String collectionName, int size) {
+    final JsonObject template = record(recordName);
+    final JsonArray records = new JsonArray();
+    for (int i = 0; i < size; i++) {
+      records.add(template.copy().put("id", new UUID(0, i).toString()));
+    }
+
+    return new JsonObject()
+      .put(collectionName, records)
+      .put("totalRecords", size);
+  }
+
+  public static Buffer collectionBody(String recordName, String collectionName, int size) {
+    return collection(recordName, collectionName, size).toBuffer();
+  }
+}
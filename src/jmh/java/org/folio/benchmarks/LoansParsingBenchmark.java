@@ -0,0 +1,87 @@
+package org.folio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.folio.patron.rest.models.LoansCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Parsing a page of circulation loans into a JSON tree and reading the fields of
+ * the patron account from it, against decoding it straight to
+ * {@link LoansCollection}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoansParsingBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int records;
+
+  private Buffer body;
+
+  @Setup
+  public void setUp() {
+    body = Fixtures.collectionBody("circulation-loan.json", "loans", records);
+  }
+
+  @Benchmark
+  public void jsonObjectTree(Blackhole blackhole) {
+    final JsonObject collection = new JsonObject(body);
+    blackhole.consume(collection.getInteger("totalRecords"));
+
+    for (Object o : collection.getJsonArray("loans")) {
+      final JsonObject loan = (JsonObject) o;
+      blackhole.consume(loan.getString("id"));
+      blackhole.consume(loan.getString("itemId"));
+      blackhole.consume(loan.getString("loanDate"));
+      blackhole.consume(loan.getString("dueDate"));
+
+      final JsonObject item = loan.getJsonObject("item");
+      blackhole.consume(item.getString("instanceId"));
+      blackhole.consume(item.getString("title"));
+      for (Object contributor : item.getJsonArray("contributors", new JsonArray())) {
+        blackhole.consume(((JsonObject) contributor).getString("name"));
+      }
+    }
+  }
+
+  @Benchmark
+  public void typedRecords(Blackhole blackhole) {
+    final LoansCollection collection = Json.decodeValue(body, LoansCollection.class);
+    blackhole.consume(collection.totalRecords());
+
+    for (LoansCollection.Loan loan : collection.loans()) {
+      blackhole.consume(loan.id());
+      blackhole.consume(loan.itemId());
+      blackhole.consume(loan.loanDate());
+      blackhole.consume(loan.dueDate());
+
+      final LoansCollection.Item item = loan.item();
+      blackhole.consume(item.instanceId());
+      blackhole.consume(item.title());
+      for (LoansCollection.Contributor contributor : item.contributors()) {
+        blackhole.consume(contributor.name());
+      }
+    }
+  }
+}
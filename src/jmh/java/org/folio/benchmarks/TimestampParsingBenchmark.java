@@ -0,0 +1,54 @@
+package org.folio.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.patron.utils.IsoTimestamps;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the dates of one loan, the loan date and the due date, decoded with
+ * Joda as before against {@link IsoTimestamps}. Run with {@code -prof gc} to see
+ * the allocations per loan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampParsingBenchmark {
+
+  @Param({"2018-06-01T11:12:00.000Z", "2018-06-01T11:12:00.000+00:00", "2018-06-01T11:12:00Z"})
+  String loanDate;
+
+  String dueDate = "2525-01-01T11:12:00.000Z";
+
+  @Benchmark
+  public void joda(Blackhole blackhole) {
+    final DateTime due = new DateTime(dueDate, DateTimeZone.UTC);
+    blackhole.consume(due.toDate());
+    blackhole.consume(due.isBeforeNow());
+    blackhole.consume(new DateTime(loanDate, DateTimeZone.UTC).toDate());
+  }
+
+  @Benchmark
+  public void isoTimestamps(Blackhole blackhole) {
+    final Date due = IsoTimestamps.toDate(dueDate);
+    blackhole.consume(due);
+    blackhole.consume(due.getTime() < System.currentTimeMillis());
+    blackhole.consume(IsoTimestamps.toDate(loanDate));
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.rest.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.folio.benchmarks.Fixtures;
+import org.folio.patron.rest.models.FeesFinesCollection;
+import org.folio.patron.rest.models.LoansCollection;
+import org.folio.rest.jaxrs.model.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Mapping the loans, requests and fees/fines of other modules to a patron account,
+ * once their responses are decoded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountAssemblyBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int records;
+
+  private final PatronServicesResourceImpl resource = new PatronServicesResourceImpl();
+  private LoansCollection loans;
+  private JsonObject requests;
+  private FeesFinesCollection feesFines;
+
+  @Setup
+  public void setUp() {
+    loans = Fixtures.collection("circulation-loan.json", "loans", records)
+      .mapTo(LoansCollection.class);
+    requests = Fixtures.collection("circulation-request.json", "requests", records);
+    feesFines = Fixtures.collection("feefine-account.json", "accounts", records)
+      .mapTo(FeesFinesCollection.class);
+  }
+
+  @Benchmark
+  public Account addLoans() {
+    return resource.addLoans(new Account(), loans, true);
+  }
+
+  /**
+   * Mapping a request stores the title and contributors of its instance in its
+   * item, so every invocation after the first does the same work again
+   */
+  @Benchmark
+  public Account addHolds() {
+    final Account account = new Account();
+    resource.addHolds(account, requests, true, true);
+    return account;
+  }
+
+  @Benchmark
+  public Account addCharges() {
+    return resource.addCharges(new Account(), feesFines, true, "USD");
+  }
+}
@@ -0,0 +1,81 @@
+package org.folio.rest.impl;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.benchmarks.Fixtures;
+import org.folio.rest.jaxrs.model.AllowedServicePoint;
+import org.folio.rest.jaxrs.model.Hold;
+import org.folio.rest.jaxrs.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Mapping of single records on the hold endpoints: requests to holds and back
+ * to cancellation requests, request policies and allowed service points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldMappingBenchmark {
+
+  private JsonObject request;
+  private Item item;
+  private Hold cancellation;
+  private JsonObject requestPolicy;
+  private JsonObject allowedServicePoints;
+
+  @Setup
+  public void setUp() {
+    request = Fixtures.record("circulation-request.json");
+    item = new Item()
+      .withItemId(request.getString("itemId"))
+      .withInstanceId(request.getString("instanceId"))
+      .withTitle("Hold On");
+    cancellation = HoldHelpers.getHold(request, item)
+      .withCancellationReasonId("b548b182-55c2-4741-b169-616d9cd995a8")
+      .withCanceledByUserId("ab5a5c57-491c-4b08-8f39-907810e14913")
+      .withCancellationAdditionalInformation("I don't want it anymore")
+      .withCanceledDate(new Date(0));
+    requestPolicy = Fixtures.record("request-policy.json");
+    allowedServicePoints = Fixtures.record("allowed-service-points.json");
+  }
+
+  @Benchmark
+  public Hold getHold() {
+    return HoldHelpers.getHold(request, item);
+  }
+
+  /**
+   * Includes copying the request, as the cancellation request is built by
+   * changing it
+   */
+  @Benchmark
+  public JsonObject createCancelRequest() {
+    return HoldHelpers.createCancelRequest(request.copy(), cancellation);
+  }
+
+  @Benchmark
+  public RequestPolicy requestPolicyFrom() {
+    return RequestPolicy.from(requestPolicy);
+  }
+
+  @Benchmark
+  public Set<AllowedServicePoint> collectAllowedServicePoints() {
+    return AllowedServicePointsService.collect(allowedServicePoints);
+  }
+}
@@ -0,0 +1,190 @@
+package org.folio.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded in-memory cache of asynchronously loaded values.
+ * <ul>
+ *   <li>values expire after the configured time to live</li>
+ *   <li>a value older than the refresh threshold is still served, but is
+ *   reloaded in the background (refresh-ahead)</li>
+ *   <li>concurrent misses for the same key share a single load (single-flight),
+ *   each of them gets its own future, so that one cancelling or completing it does
+ *   not affect the others</li>
+ *   <li>failed loads are never cached</li>
+ *   <li>a load still in flight when its key is invalidated does not store its
+ *   value, so the invalidation cannot be undone by a value loaded before it</li>
+ * </ul>
+ * A cache with a time to live of zero is disabled and always calls the loader.
+ */
+public class ExpiringAsyncCache<K, V> {
+  private static final Logger log = LogManager.getLogger();
+
+  private final String name;
+  private final long ttlNanos;
+  private final long refreshAfterNanos;
+  private final int maximumSize;
+  private final LongSupplier clock;
+  private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+
+  public ExpiringAsyncCache(String name, long ttl, TimeUnit unit, int maximumSize) {
+    this(name, ttl, unit, maximumSize, System::nanoTime);
+  }
+
+  ExpiringAsyncCache(String name, long ttl, TimeUnit unit, int maximumSize, LongSupplier clock) {
+    this.name = name;
+    this.ttlNanos = unit.toNanos(Math.max(0, ttl));
+    // refresh in the background when 80% of the time to live has passed
+    this.refreshAfterNanos = ttlNanos / 5 * 4;
+    this.maximumSize = Math.max(1, maximumSize);
+    this.clock = clock;
+  }
+
+  public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+    if (!isEnabled()) {
+      return loader.get();
+    }
+
+    final var entry = entries.get(key);
+    final var now = clock.getAsLong();
+
+    if (entry != null && now - entry.loadedAt < ttlNanos) {
+      hits.increment();
+      if (now - entry.loadedAt >= refreshAfterNanos && !loading.containsKey(key)) {
+        refreshes.increment();
+        log.debug("get:: refreshing {} cache entry ahead of expiry", name);
+        load(key, loader);
+      }
+      return CompletableFuture.completedFuture(entry.value);
+    }
+
+    misses.increment();
+    return load(key, loader);
+  }
+
+  public void invalidate(K key) {
+    loading.remove(key);
+    entries.remove(key);
+  }
+
+  public void invalidateIf(Predicate<K> predicate) {
+    loading.keySet().removeIf(predicate);
+    entries.keySet().removeIf(predicate);
+  }
+
+  public void invalidateAll() {
+    loading.clear();
+    entries.clear();
+  }
+
+  public boolean isEnabled() {
+    return ttlNanos > 0;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailures.sum();
+  }
+
+  public long getRefreshCount() {
+    return refreshes.sum();
+  }
+
+  private CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> loader) {
+    final var promise = new CompletableFuture<V>();
+    final var inFlight = loading.putIfAbsent(key, promise);
+    if (inFlight != null) {
+      return inFlight.copy();
+    }
+
+    final var startedAt = clock.getAsLong();
+    try {
+      loader.get().whenComplete((value, throwable) -> {
+        if (throwable == null) {
+          store(key, promise, new Entry<>(value, startedAt));
+        } else {
+          loadFailures.increment();
+          log.debug("load:: failed to load {} cache entry: {}", name, throwable.getMessage());
+          loading.remove(key, promise);
+        }
+        if (throwable == null) {
+          promise.complete(value);
+        } else {
+          promise.completeExceptionally(throwable);
+        }
+      });
+    } catch (RuntimeException e) {
+      loadFailures.increment();
+      loading.remove(key, promise);
+      promise.completeExceptionally(e);
+    }
+
+    return promise.copy();
+  }
+
+  /**
+   * Stores the loaded value unless the key was invalidated while it was loading.
+   * This is done while holding the key in {@code loading}, so an invalidation
+   * either comes first and the value is dropped, or comes after and removes it
+   */
+  private void store(K key, CompletableFuture<V> promise, Entry<V> entry) {
+    loading.computeIfPresent(key, (notUsed, current) -> {
+      if (current != promise) {
+        return current;
+      }
+      put(key, entry);
+      return null;
+    });
+  }
+
+  private void put(K key, Entry<V> entry) {
+    if (entries.size() >= maximumSize && !entries.containsKey(key)) {
+      evict();
+    }
+    entries.put(key, entry);
+  }
+
+  private void evict() {
+    final var now = clock.getAsLong();
+    entries.values().removeIf(entry -> now - entry.loadedAt >= ttlNanos);
+
+    final Iterator<K> keys = entries.keySet().iterator();
+    while (entries.size() >= maximumSize && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
+  }
+
+  private record Entry<V>(V value, long loadedAt) { }
+}
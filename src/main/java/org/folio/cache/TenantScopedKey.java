@@ -0,0 +1,27 @@
+package org.folio.cache;
+
+import java.util.Map;
+
+import org.folio.okapi.common.XOkapiHeaders;
+import org.folio.rest.tools.utils.TenantTool;
+
+/**
+ * Cache key that never lets values leak between tenants. The Okapi URL is part
+ * of the key as well, so that the same tenant reached through different gateways
+ * is cached separately.
+ */
+public record TenantScopedKey(String okapiUrl, String tenantId, Object key) {
+
+  public static TenantScopedKey of(Map<String, String> okapiHeaders) {
+    return of(okapiHeaders, "");
+  }
+
+  public static TenantScopedKey of(Map<String, String> okapiHeaders, Object key) {
+    return new TenantScopedKey(okapiHeaders.getOrDefault(XOkapiHeaders.URL, ""),
+      TenantTool.tenantId(okapiHeaders), key);
+  }
+
+  public boolean belongsTo(String tenant) {
+    return tenantId.equals(tenant);
+  }
+}
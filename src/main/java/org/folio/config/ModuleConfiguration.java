@@ -0,0 +1,51 @@
+package org.folio.config;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads tuning parameters of the module. A value is taken from the environment
+ * variable with the given name, falling back to the system property of the same
+ * name, and then to the provided default.
+ */
+public final class ModuleConfiguration {
+  private static final Logger log = LogManager.getLogger();
+
+  private ModuleConfiguration() { }
+
+  public static long getLong(String name, long defaultValue) {
+    final var value = getValue(name);
+    if (isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      log.warn("getLong:: invalid value '{}' of {}, using default {}", value, name, defaultValue);
+      return defaultValue;
+    }
+  }
+
+  public static int getInt(String name, int defaultValue) {
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(Integer.MIN_VALUE, getLong(name, defaultValue)));
+  }
+
+  public static boolean getBoolean(String name, boolean defaultValue) {
+    final var value = getValue(name);
+    return isBlank(value) ? defaultValue : Boolean.parseBoolean(value.trim());
+  }
+
+  public static String getString(String name, String defaultValue) {
+    final var value = getValue(name);
+    return isBlank(value) ? defaultValue : value.trim();
+  }
+
+  private static String getValue(String name) {
+    return Optional.ofNullable(System.getenv(name))
+      .orElseGet(() -> System.getProperty(name));
+  }
+}
@@ -0,0 +1,173 @@
+package org.folio.integration.http;
+
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Circuit breaker for the requests to one downstream module.
+ * <ul>
+ *   <li>closed: calls pass, and the outcomes of the last calls are recorded in a
+ *   sliding window. Once the window holds enough calls and the share of failures
+ *   reaches the threshold, the breaker opens</li>
+ *   <li>open: calls are rejected until the open duration has passed</li>
+ *   <li>half-open: a limited number of probe calls pass. The breaker closes when
+ *   they all succeed, and opens again on the first failure</li>
+ * </ul>
+ * The outcome of a call only counts while the breaker is still in the state the
+ * call was permitted in, so that a call started before the breaker opened does
+ * not count as a probe.
+ */
+public class CircuitBreaker {
+  private static final Logger log = LogManager.getLogger();
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private final String name;
+  private final int failureRateThreshold;
+  private final int minimumCalls;
+  private final long openDurationNanos;
+  private final int halfOpenProbes;
+  private final LongSupplier clock;
+  private final boolean[] window;
+
+  private State state = State.CLOSED;
+  // Changes with each change of state
+  private long generation;
+  private int windowPosition;
+  private int windowCalls;
+  private int windowFailures;
+  private long openedAt;
+  private int probesStarted;
+  private int probesSucceeded;
+  private long rejectedCalls;
+
+  /**
+   * @param failureRateThreshold percentage of failed calls in the window that opens the breaker
+   */
+  public CircuitBreaker(String name, int windowSize, int minimumCalls,
+    int failureRateThreshold, long openDurationMillis, int halfOpenProbes) {
+
+    this(name, windowSize, minimumCalls, failureRateThreshold, openDurationMillis,
+      halfOpenProbes, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+    long openDurationMillis, int halfOpenProbes, LongSupplier clock) {
+
+    this.name = name;
+    this.window = new boolean[Math.max(1, windowSize)];
+    this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+    this.failureRateThreshold = failureRateThreshold;
+    this.openDurationNanos = openDurationMillis * 1_000_000;
+    this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    this.clock = clock;
+  }
+
+  /**
+   * @return the permission to make the call, null when the call is rejected. A
+   * permitted call must be followed by either {@link #onSuccess(Permission)} or
+   * {@link #onFailure(Permission)}
+   */
+  public synchronized Permission tryAcquirePermission() {
+    if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationNanos) {
+      log.info("tryAcquirePermission:: circuit breaker {} is half-open", name);
+      changeState(State.HALF_OPEN);
+      probesStarted = 0;
+      probesSucceeded = 0;
+    }
+
+    if (state == State.CLOSED) {
+      return new Permission(generation);
+    }
+    if (state == State.HALF_OPEN && probesStarted < halfOpenProbes) {
+      probesStarted++;
+      return new Permission(generation);
+    }
+    rejectedCalls++;
+    return null;
+  }
+
+  public synchronized void onSuccess(Permission permission) {
+    if (permission.generation() != generation) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      probesSucceeded++;
+      if (probesSucceeded >= halfOpenProbes) {
+        log.info("onSuccess:: circuit breaker {} is closed", name);
+        changeState(State.CLOSED);
+        resetWindow();
+      }
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  public synchronized void onFailure(Permission permission) {
+    if (permission.generation() != generation) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      open();
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (windowCalls >= minimumCalls
+        && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+
+        open();
+      }
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  public synchronized long getRejectedCallCount() {
+    return rejectedCalls;
+  }
+
+  private void record(boolean failed) {
+    if (windowCalls == window.length) {
+      if (window[windowPosition]) {
+        windowFailures--;
+      }
+    } else {
+      windowCalls++;
+    }
+    window[windowPosition] = failed;
+    if (failed) {
+      windowFailures++;
+    }
+    windowPosition = (windowPosition + 1) % window.length;
+  }
+
+  private void open() {
+    log.warn("open:: circuit breaker {} is open for {} ms", name, openDurationNanos / 1_000_000);
+    changeState(State.OPEN);
+    openedAt = clock.getAsLong();
+    resetWindow();
+  }
+
+  private void changeState(State newState) {
+    state = newState;
+    generation++;
+  }
+
+  private void resetWindow() {
+    windowPosition = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+  }
+
+  /**
+   * Permission to make a call, given in one state of the breaker
+   */
+  public record Permission(long generation) { }
+}
@@ -0,0 +1,208 @@
+package org.folio.integration.http;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.metrics.ModuleMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+
+/**
+ * Protects the module from slow or failing downstream modules. The requests are
+ * grouped by the first segment of their path (e.g. {@code /inventory},
+ * {@code /circulation-bff}), and
+ * <ul>
+ *   <li>each tenant gets a {@link CircuitBreaker} for each downstream module, so
+ *   that calls to a failing module fail fast, and the failures of one tenant do
+ *   not reject the calls of others</li>
+ *   <li>each downstream module gets a bulkhead limiting the calls in flight of all
+ *   the tenants, so that a slow module cannot take up all the connections and
+ *   event loop time</li>
+ * </ul>
+ * A call that is not let through is answered with a 503 response right away,
+ * so callers handle it like any other unavailable module.
+ */
+public class DownstreamGuard {
+  private static final Logger log = LogManager.getLogger();
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  private final Function<String, CircuitBreaker> circuitBreakerFactory;
+  private final int maxConcurrentCalls;
+  private final ConcurrentMap<DownstreamKey, Downstream> downstreams = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  /**
+   * @param circuitBreakerFactory creates the circuit breaker of a downstream, or
+   * returns null when circuit breaking is disabled
+   * @param maxConcurrentCalls calls to a downstream module that may be in flight
+   * at the same time, of all the tenants, zero or less for no limit
+   */
+  public DownstreamGuard(Function<String, CircuitBreaker> circuitBreakerFactory,
+    int maxConcurrentCalls) {
+
+    this.circuitBreakerFactory = circuitBreakerFactory;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+  }
+
+  public static DownstreamGuard disabled() {
+    return new DownstreamGuard(name -> null, 0);
+  }
+
+  public CompletableFuture<Response> call(String tenant, String path,
+    Supplier<CompletableFuture<Response>> call) {
+
+    final var name = downstreamName(path);
+    final var bulkhead = bulkheads.computeIfAbsent(name, DownstreamGuard::bindMetrics);
+    final var downstream = downstreams.computeIfAbsent(
+      new DownstreamKey(tenant == null ? "" : tenant, name),
+      key -> bindMetrics(new Downstream(key.tenant(), key.name(),
+        circuitBreakerFactory.apply(key.name()))));
+
+    if (maxConcurrentCalls > 0 && bulkhead.inFlight.incrementAndGet() > maxConcurrentCalls) {
+      bulkhead.inFlight.decrementAndGet();
+      bulkhead.rejections.increment();
+      return reject(downstream, "too many concurrent requests");
+    }
+
+    final var permission = downstream.circuitBreaker == null
+      ? null
+      : downstream.circuitBreaker.tryAcquirePermission();
+
+    if (downstream.circuitBreaker != null && permission == null) {
+      releaseBulkhead(bulkhead);
+      return reject(downstream, "circuit breaker is open");
+    }
+
+    final CompletableFuture<Response> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      onComplete(downstream, bulkhead, permission, null, e);
+      throw e;
+    }
+    return result.whenComplete((response, throwable) ->
+      onComplete(downstream, bulkhead, permission, response, throwable));
+  }
+
+  public Collection<Downstream> getDownstreams() {
+    return downstreams.values();
+  }
+
+  static String downstreamName(String path) {
+    final var start = path.startsWith("/") ? 1 : 0;
+    final var end = path.indexOf('/', start);
+
+    return end < 0 ? path.substring(start) : path.substring(start, end);
+  }
+
+  private static Bulkhead bindMetrics(String name) {
+    final var bulkhead = new Bulkhead();
+
+    FunctionCounter.builder("patron.downstream.bulkhead.rejections", bulkhead.rejections,
+        LongAdder::sum)
+      .tag("downstream", name)
+      .register(ModuleMetrics.getRegistry());
+
+    return bulkhead;
+  }
+
+  private static Downstream bindMetrics(Downstream downstream) {
+    final var registry = ModuleMetrics.getRegistry(downstream.tenant);
+
+    if (downstream.circuitBreaker != null) {
+      // 0 closed, 1 open, 2 half open
+      Gauge.builder("patron.downstream.circuit.breaker.state", downstream.circuitBreaker,
+          circuitBreaker -> circuitBreaker.getState().ordinal())
+        .tag("downstream", downstream.name)
+        .register(registry);
+      FunctionCounter.builder("patron.downstream.circuit.breaker.rejections",
+          downstream.circuitBreaker, CircuitBreaker::getRejectedCallCount)
+        .tag("downstream", downstream.name)
+        .register(registry);
+    }
+
+    return downstream;
+  }
+
+  private void onComplete(Downstream downstream, Bulkhead bulkhead,
+    CircuitBreaker.Permission permission, Response response, Throwable throwable) {
+
+    releaseBulkhead(bulkhead);
+    if (permission == null) {
+      return;
+    }
+    if (throwable != null || isUnavailable(response)) {
+      downstream.circuitBreaker.onFailure(permission);
+    } else {
+      downstream.circuitBreaker.onSuccess(permission);
+    }
+  }
+
+  private void releaseBulkhead(Bulkhead bulkhead) {
+    if (maxConcurrentCalls > 0) {
+      bulkhead.inFlight.decrementAndGet();
+    }
+  }
+
+  /**
+   * Only responses telling that the module (or the gateway in front of it) is
+   * unavailable count as failures, other errors are about the request itself
+   */
+  private static boolean isUnavailable(Response response) {
+    return response.statusCode == 502 || response.statusCode == 503
+      || response.statusCode == 504;
+  }
+
+  private static CompletableFuture<Response> reject(Downstream downstream, String reason) {
+    log.warn("reject:: request of tenant {} to {} rejected, {}", downstream.tenant,
+      downstream.name, reason);
+
+    return completedFuture(new Response(SERVICE_UNAVAILABLE,
+      "Request to " + downstream.name + " rejected, " + reason));
+  }
+
+  public static class Downstream {
+    private final String tenant;
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+
+    private Downstream(String tenant, String name, CircuitBreaker circuitBreaker) {
+      this.tenant = tenant;
+      this.name = name;
+      this.circuitBreaker = circuitBreaker;
+    }
+
+    public String getTenant() {
+      return tenant;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the circuit breaker, null when circuit breaking is disabled
+     */
+    public CircuitBreaker getCircuitBreaker() {
+      return circuitBreaker;
+    }
+  }
+
+  private static class Bulkhead {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+  }
+
+  private record DownstreamKey(String tenant, String name) { }
+}
@@ -0,0 +1,225 @@
+package org.folio.integration.http;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Limits the requests to other modules that one patron request fans out to,
+ * without blocking a thread:
+ * <ul>
+ *   <li>each patron request has at most {@code maxConcurrentPerRequest} of its
+ *   requests in flight, the others wait in the order they were submitted</li>
+ *   <li>all the patron requests together have at most {@code maxConcurrent}
+ *   requests in flight. Requests beyond that wait in a queue per tenant, and the
+ *   tenants take turns when a request completes, so one tenant cannot starve
+ *   the others</li>
+ *   <li>a tenant has at most {@code maxWaitingPerTenant} requests waiting for
+ *   those slots, a request beyond that fails with a
+ *   {@link RejectedExecutionException}</li>
+ * </ul>
+ * A waiting request is started when the request that frees its slot completes,
+ * on the Vert.x context of the patron request it belongs to, so that a long line
+ * of requests completing at once does not start each other recursively.
+ */
+public class FanOutLimiter {
+  private final String name;
+  private final int maxConcurrentPerRequest;
+  private final int maxConcurrent;
+  private final int maxWaitingPerTenant;
+  private final Map<String, Deque<Runnable>> waitingByTenant = new LinkedHashMap<>();
+  private int inFlight;
+  private int waiting;
+
+  public FanOutLimiter(String name, int maxConcurrentPerRequest, int maxConcurrent,
+    int maxWaitingPerTenant) {
+
+    this.name = name;
+    this.maxConcurrentPerRequest = Math.max(1, maxConcurrentPerRequest);
+    this.maxConcurrent = Math.max(1, maxConcurrent);
+    this.maxWaitingPerTenant = Math.max(0, maxWaitingPerTenant);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return fan-out of one patron request of the tenant
+   */
+  public FanOut forRequest(String tenant) {
+    return new FanOut(tenant == null ? "" : tenant, Vertx.currentContext());
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return requests waiting for one of the {@code maxConcurrent} slots, requests
+   * waiting for a slot of their patron request are not included
+   */
+  public synchronized int getWaiting() {
+    return waiting;
+  }
+
+  /**
+   * @return whether the tenant can submit another request without it being rejected
+   */
+  public synchronized boolean hasRoomFor(String tenant) {
+    return inFlight < maxConcurrent || waitingOf(tenant) < maxWaitingPerTenant;
+  }
+
+  private int waitingOf(String tenant) {
+    final var waitingOfTenant = waitingByTenant.get(tenant == null ? "" : tenant);
+    return waitingOfTenant == null ? 0 : waitingOfTenant.size();
+  }
+
+  /**
+   * @return false when the request is rejected as the tenant has too many waiting
+   */
+  private boolean acquire(FanOut fanOut, Runnable start) {
+    synchronized (this) {
+      if (inFlight >= maxConcurrent) {
+        if (waitingOf(fanOut.tenant) >= maxWaitingPerTenant) {
+          return false;
+        }
+        waitingByTenant.computeIfAbsent(fanOut.tenant, notUsed -> new ArrayDeque<>())
+          .add(() -> fanOut.dispatch(start));
+        waiting++;
+        return true;
+      }
+      inFlight++;
+    }
+    start.run();
+    return true;
+  }
+
+  private void release() {
+    final Runnable next;
+    synchronized (this) {
+      next = nextWaiting();
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+      waiting--;
+    }
+    // the slot is handed over to the next request, which is dispatched to its context
+    next.run();
+  }
+
+  /**
+   * Takes the first request of the tenant whose turn it is, the tenant then goes
+   * to the end of the line
+   */
+  private Runnable nextWaiting() {
+    final var iterator = waitingByTenant.entrySet().iterator();
+    if (!iterator.hasNext()) {
+      return null;
+    }
+
+    final var entry = iterator.next();
+    iterator.remove();
+    final var next = entry.getValue().poll();
+    if (!entry.getValue().isEmpty()) {
+      waitingByTenant.put(entry.getKey(), entry.getValue());
+    }
+    return next;
+  }
+
+  /**
+   * The requests to other modules of one patron request
+   */
+  public class FanOut {
+    private final String tenant;
+    private final Context context;
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private int active;
+
+    private FanOut(String tenant, Context context) {
+      this.tenant = tenant;
+      this.context = context;
+    }
+
+    /**
+     * Starts the request once the limits allow it
+     *
+     * @return the result of the request
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+      final var result = new CompletableFuture<T>();
+      final Runnable start = () -> {
+        if (!acquire(this, () -> run(request, result))) {
+          startNext();
+          result.completeExceptionally(new RejectedExecutionException(
+            "Too many requests of tenant " + tenant + " are waiting for " + name));
+        }
+      };
+
+      synchronized (this) {
+        if (active >= maxConcurrentPerRequest) {
+          pending.add(start);
+          return result;
+        }
+        active++;
+      }
+      start.run();
+
+      return result;
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> request, CompletableFuture<T> result) {
+      CompletableFuture<T> response;
+      try {
+        response = request.get();
+      } catch (RuntimeException e) {
+        response = failedFuture(e);
+      }
+
+      response.whenComplete((value, throwable) -> {
+        release();
+        startNext();
+
+        if (throwable != null) {
+          result.completeExceptionally(throwable);
+        } else {
+          result.complete(value);
+        }
+      });
+    }
+
+    private void startNext() {
+      final Runnable next;
+      synchronized (this) {
+        next = pending.poll();
+        if (next == null) {
+          active--;
+          return;
+        }
+      }
+      dispatch(next);
+    }
+
+    /**
+     * Runs a request whose turn has come on the context of the patron request,
+     * or right away outside of Vert.x
+     */
+    private void dispatch(Runnable start) {
+      if (context == null) {
+        start.run();
+      } else {
+        context.runOnContext(notUsed -> start.run());
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package org.folio.integration.http;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.config.ModuleConfiguration;
+
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.web.client.WebClientOptions;
+
+/**
+ * Connection settings of the client used for requests to other modules through
+ * Okapi (or the gateway that takes its place). The defaults are the ones of Vert.x,
+ * each of them can be overridden with the environment variable of the same name.
+ */
+public final class HttpClientConfiguration {
+  private static final Logger log = LogManager.getLogger();
+
+  private HttpClientConfiguration() { }
+
+  public static WebClientOptions webClientOptions() {
+    final var options = new WebClientOptions()
+      .setKeepAlive(ModuleConfiguration.getBoolean("OKAPI_CLIENT_KEEP_ALIVE",
+        WebClientOptions.DEFAULT_KEEP_ALIVE))
+      .setKeepAliveTimeout(ModuleConfiguration.getInt("OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_SECONDS",
+        WebClientOptions.DEFAULT_KEEP_ALIVE_TIMEOUT))
+      .setPipelining(ModuleConfiguration.getBoolean("OKAPI_CLIENT_PIPELINING",
+        WebClientOptions.DEFAULT_PIPELINING))
+      .setTcpNoDelay(ModuleConfiguration.getBoolean("OKAPI_CLIENT_TCP_NO_DELAY",
+        WebClientOptions.DEFAULT_TCP_NO_DELAY))
+      .setConnectTimeout(ModuleConfiguration.getInt("OKAPI_CLIENT_CONNECT_TIMEOUT_MS",
+        WebClientOptions.DEFAULT_CONNECT_TIMEOUT));
+
+    if (ModuleConfiguration.getBoolean("OKAPI_CLIENT_HTTP2", false)) {
+      options
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2MultiplexingLimit(ModuleConfiguration.getInt("OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT",
+          WebClientOptions.DEFAULT_HTTP2_MULTIPLEXING_LIMIT))
+        .setHttp2KeepAliveTimeout(options.getKeepAliveTimeout());
+    }
+
+    log.info("webClientOptions:: protocol {}, keep-alive {} ({} s), pipelining {}, " +
+        "TCP_NODELAY {}, connect timeout {} ms", options.getProtocolVersion(),
+      options.isKeepAlive(), options.getKeepAliveTimeout(), options.isPipelining(),
+      options.isTcpNoDelay(), options.getConnectTimeout());
+
+    return options;
+  }
+
+  public static PoolOptions poolOptions() {
+    final var options = new PoolOptions()
+      .setHttp1MaxSize(ModuleConfiguration.getInt("OKAPI_CLIENT_MAX_POOL_SIZE",
+        PoolOptions.DEFAULT_MAX_POOL_SIZE))
+      .setHttp2MaxSize(ModuleConfiguration.getInt("OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE",
+        PoolOptions.DEFAULT_HTTP2_MAX_POOL_SIZE))
+      .setMaxWaitQueueSize(ModuleConfiguration.getInt("OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE",
+        PoolOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE));
+
+    log.info("poolOptions:: HTTP/1 pool size {}, HTTP/2 pool size {}, wait queue size {}",
+      options.getHttp1MaxSize(), options.getHttp2MaxSize(), options.getMaxWaitQueueSize());
+
+    return options;
+  }
+
+  /**
+   * Coalescing identical concurrent GETs is opt-in, as the callers then share
+   * the response of a request sent on behalf of another caller
+   */
+  public static boolean coalesceGets() {
+    return ModuleConfiguration.getBoolean("OKAPI_CLIENT_COALESCE_GETS", false);
+  }
+
+  /**
+   * Circuit breakers and bulkheads are opt-in, as they make requests fail that
+   * would otherwise have been sent
+   */
+  public static DownstreamGuard downstreamGuard() {
+    final var circuitBreakerEnabled =
+      ModuleConfiguration.getBoolean("OKAPI_CLIENT_CIRCUIT_BREAKER_ENABLED", false);
+    final var windowSize = ModuleConfiguration.getInt("OKAPI_CLIENT_CIRCUIT_BREAKER_WINDOW_SIZE", 20);
+    final var minimumCalls = ModuleConfiguration.getInt("OKAPI_CLIENT_CIRCUIT_BREAKER_MINIMUM_CALLS", 10);
+    final var failureRateThreshold =
+      ModuleConfiguration.getInt("OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD", 50);
+    final var openDurationMillis =
+      ModuleConfiguration.getLong("OKAPI_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION_MS", 30_000);
+    final var halfOpenProbes = ModuleConfiguration.getInt("OKAPI_CLIENT_CIRCUIT_BREAKER_HALF_OPEN_PROBES", 3);
+    final var maxConcurrentCalls = ModuleConfiguration.getInt("OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS", 0);
+
+    log.info("downstreamGuard:: circuit breakers enabled {}, bulkhead size {}",
+      circuitBreakerEnabled, maxConcurrentCalls);
+
+    return new DownstreamGuard(name -> circuitBreakerEnabled
+      ? new CircuitBreaker(name, windowSize, minimumCalls, failureRateThreshold,
+        openDurationMillis, halfOpenProbes)
+      : null, maxConcurrentCalls);
+  }
+}
@@ -2,7 +2,12 @@ package org.folio.integration.http;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToDoubleFunction;
 
+import org.folio.metrics.ModuleMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.client.WebClient;
 
@@ -21,6 +26,23 @@ import io.vertx.ext.web.client.WebClient;
 public class HttpClientFactory {
   private static final ConcurrentMap<Vertx, VertxOkapiHttpClient> clientMap = new ConcurrentHashMap<>();
 
+  static {
+    final var registry = ModuleMetrics.getRegistry();
+
+    Gauge.builder("patron.okapi.client.requests.in.flight", clientMap,
+        clients -> sum(clients, HttpClientUsage::getInFlightRequests))
+      .register(registry);
+    FunctionCounter.builder("patron.okapi.client.requests", clientMap,
+        clients -> sum(clients, HttpClientUsage::getRequestCount))
+      .register(registry);
+    FunctionCounter.builder("patron.okapi.client.failures", clientMap,
+        clients -> sum(clients, HttpClientUsage::getFailureCount))
+      .register(registry);
+    FunctionCounter.builder("patron.okapi.client.coalesced.requests", clientMap,
+        clients -> sum(clients, HttpClientUsage::getCoalescedRequestCount))
+      .register(registry);
+  }
+
   private HttpClientFactory() { }
 
   public static VertxOkapiHttpClient getHttpClient(Vertx vertx) {
@@ -29,7 +51,19 @@ public class HttpClientFactory {
     return clientMap.get(vertx);
   }
 
+  private static double sum(ConcurrentMap<Vertx, VertxOkapiHttpClient> clients,
+    ToDoubleFunction<HttpClientUsage> value) {
+
+    return clients.values().stream()
+      .mapToDouble(client -> value.applyAsDouble(client.getUsage()))
+      .sum();
+  }
+
   private static VertxOkapiHttpClient createClient(Vertx v) {
-    return new VertxOkapiHttpClient(WebClient.create(v));
+    return new VertxOkapiHttpClient(
+      WebClient.create(v, HttpClientConfiguration.webClientOptions(),
+        HttpClientConfiguration.poolOptions()),
+      new HttpClientUsage(), HttpClientConfiguration.downstreamGuard(),
+      HttpClientConfiguration.coalesceGets());
   }
 }
@@ -0,0 +1,52 @@
+package org.folio.integration.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of the requests sent to other modules. A request is in flight from the
+ * time it is sent until its response arrives, including the time it waits in the
+ * queue for a connection, so these count requests, not the connections of the pool.
+ */
+public class HttpClientUsage {
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  void requestStarted() {
+    requests.increment();
+    inFlight.incrementAndGet();
+  }
+
+  void requestCompleted(boolean failed) {
+    inFlight.decrementAndGet();
+    if (failed) {
+      failures.increment();
+    }
+  }
+
+  void requestCoalesced() {
+    coalesced.increment();
+  }
+
+  public int getInFlightRequests() {
+    return inFlight.get();
+  }
+
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  public long getFailureCount() {
+    return failures.sum();
+  }
+
+  /**
+   * @return number of GETs that were not sent, as they shared the response of
+   * an identical GET in flight
+   */
+  public long getCoalescedRequestCount() {
+    return coalesced.sum();
+  }
+}
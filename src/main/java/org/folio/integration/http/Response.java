@@ -1,15 +1,63 @@
 package org.folio.integration.http;
 
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Response of a downstream module. The body is kept as the raw bytes received
+ * and only decoded on demand, either straight to JSON or to a typed object, so
+ * that large bodies are not copied into an intermediate String.
+ */
 public class Response {
   public final int statusCode;
-  public final String body;
+  private final Buffer body;
 
-  public Response(int statusCode, String body) {
+  public Response(int statusCode, Buffer body) {
     this.statusCode = statusCode;
     this.body = body;
   }
 
+  public Response(int statusCode, String body) {
+    this(statusCode, body == null ? null : Buffer.buffer(body));
+  }
+
   public boolean isSuccess() {
     return statusCode >= 200 && statusCode < 300;
   }
+
+  /**
+   * @return whether the body contains anything other than whitespace
+   */
+  public boolean hasBody() {
+    if (body == null) {
+      return false;
+    }
+    for (int i = 0; i < body.length(); i++) {
+      if (!isWhitespace(body.getByte(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes the body as a String, meant for error messages and bodies that
+   * are passed on as they are
+   */
+  public String getBody() {
+    return body == null ? null : body.toString();
+  }
+
+  public JsonObject getBodyAsJsonObject() {
+    return hasBody() ? new JsonObject(body) : null;
+  }
+
+  public <T> T getBodyAs(Class<T> type) {
+    return hasBody() ? Json.decodeValue(body, type) : null;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+  }
 }
@@ -1,7 +1,5 @@
 package org.folio.integration.http;
 
-import static org.apache.commons.lang3.StringUtils.isBlank;
-
 import java.util.concurrent.CompletionException;
 
 import org.apache.logging.log4j.LogManager;
@@ -22,21 +20,33 @@ public class ResponseInterpreter {
     return extractBody(response, false);
   }
 
+  /**
+   * Decodes the body straight to the type, fields the type does not declare are
+   * skipped without being decoded
+   */
+  public static <T> T verifyAndExtractBodyAs(Response response, Class<T> type) {
+    return isSuccessWithBody(response, true) ? response.getBodyAs(type) : null;
+  }
+
   private static JsonObject extractBody(Response response, boolean throwOnError) {
+    return isSuccessWithBody(response, throwOnError) ? response.getBodyAsJsonObject() : null;
+  }
+
+  private static boolean isSuccessWithBody(Response response, boolean throwOnError) {
     log.info("extractBody:: statusCode: {}", response.statusCode);
     if (!response.isSuccess()) {
       if (throwOnError) {
-        throw new CompletionException(new HttpException(response.statusCode, response.body));
+        throw new CompletionException(new HttpException(response.statusCode, response.getBody()));
       } else {
         log.error("extractBody:: response is not successful. statusCode: {}, body: {}",
-          response.statusCode, response.body);
-        return null;
+          response.statusCode, response.getBody());
+        return false;
       }
     }
-    if (isBlank(response.body)) {
+    if (!response.hasBody()) {
       log.info("extractBody:: response is empty");
-      return null;
+      return false;
     }
-    return new JsonObject(response.body);
+    return true;
   }
 }
@@ -2,13 +2,23 @@ package org.folio.integration.http;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.metrics.ModuleMetrics;
+import org.folio.metrics.ServerTiming;
+import org.folio.okapi.common.XOkapiHeaders;
+import org.folio.rest.tools.utils.TenantTool;
 
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
@@ -22,9 +32,35 @@ public class VertxOkapiHttpClient {
   private static final long DEFAULT_TIMEOUT_MS = 5000;
   private static final long EXTENDED_TIMEOUT_MS = 60000;
   private final WebClient client;
+  private final HttpClientUsage usage;
+  private final DownstreamGuard downstreamGuard;
+  private final boolean coalesceGets;
+  private final ConcurrentMap<GetKey, CompletableFuture<Response>> getsInFlight =
+    new ConcurrentHashMap<>();
 
   public VertxOkapiHttpClient(WebClient client) {
+    this(client, new HttpClientUsage(), DownstreamGuard.disabled(), false);
+  }
+
+  /**
+   * @param coalesceGets whether a GET identical to one still in flight shares
+   * the response of that one, instead of being sent again
+   */
+  public VertxOkapiHttpClient(WebClient client, HttpClientUsage usage,
+    DownstreamGuard downstreamGuard, boolean coalesceGets) {
+
     this.client = client;
+    this.usage = usage;
+    this.downstreamGuard = downstreamGuard;
+    this.coalesceGets = coalesceGets;
+  }
+
+  public HttpClientUsage getUsage() {
+    return usage;
+  }
+
+  public DownstreamGuard getDownstreamGuard() {
+    return downstreamGuard;
   }
 
   public CompletableFuture<Response> get(String path, Map<String, String> okapiHeaders) {
@@ -46,6 +82,45 @@ public class VertxOkapiHttpClient {
   public CompletableFuture<Response> get(String path,
     Map<String, String> queryParameters, Map<String, String> okapiHeaders, long timeout) {
 
+    if (!coalesceGets) {
+      return sendGet(path, queryParameters, okapiHeaders, timeout);
+    }
+
+    final var key = GetKey.of(path, queryParameters, okapiHeaders, timeout);
+    final var promise = new CompletableFuture<Response>();
+    final var inFlight = getsInFlight.putIfAbsent(key, promise);
+    if (inFlight != null) {
+      logger.info("get:: path {} joins identical request in flight", path);
+      usage.requestCoalesced();
+      return inFlight.copy();
+    }
+
+    final CompletableFuture<Response> sent;
+    try {
+      sent = sendGet(path, queryParameters, okapiHeaders, timeout);
+    } catch (RuntimeException e) {
+      // the requests joining this one must not wait for a request never sent
+      getsInFlight.remove(key, promise);
+      promise.completeExceptionally(e);
+      return promise.copy();
+    }
+
+    sent
+      .whenComplete((response, throwable) -> {
+        getsInFlight.remove(key, promise);
+        if (throwable == null) {
+          promise.complete(response);
+        } else {
+          promise.completeExceptionally(throwable);
+        }
+      });
+
+    return promise.copy();
+  }
+
+  private CompletableFuture<Response> sendGet(String path,
+    Map<String, String> queryParameters, Map<String, String> okapiHeaders, long timeout) {
+
     logger.info("get:: path {}, timeout {}", path, timeout);
 
     URL url = buildUrl(path, okapiHeaders);
@@ -57,10 +132,7 @@ public class VertxOkapiHttpClient {
 
     queryParameters.forEach(request::addQueryParam);
 
-    return request.send()
-      .toCompletionStage()
-      .toCompletableFuture()
-      .thenApply(this::toResponse);
+    return send("GET", path, okapiHeaders, request::send);
   }
 
   public CompletableFuture<Response> post(String path, JsonObject body,
@@ -87,7 +159,7 @@ public class VertxOkapiHttpClient {
       .putHeaders(buildHeaders(okapiHeaders))
       .timeout(timeout);
 
-    return makeRequestWithBody(request, body);
+    return makeRequestWithBody("POST", path, okapiHeaders, request, body);
   }
 
   public CompletableFuture<Response> put(String path, JsonObject body,
@@ -99,16 +171,44 @@ public class VertxOkapiHttpClient {
       .put(url.getPort(), url.getHost(), url.getPath())
       .putHeaders(buildHeaders(okapiHeaders));
 
-    return makeRequestWithBody(request, body);
+    return makeRequestWithBody("PUT", path, okapiHeaders, request, body);
   }
 
-  private CompletableFuture<Response> makeRequestWithBody(
-    HttpRequest<Buffer> request, JsonObject body) {
+  private CompletableFuture<Response> makeRequestWithBody(String method, String path,
+    Map<String, String> okapiHeaders, HttpRequest<Buffer> request, JsonObject body) {
 
-    return request.sendJson(body)
-      .toCompletionStage()
-      .toCompletableFuture()
-      .thenApply(this::toResponse);
+    return send(method, path, okapiHeaders, () -> request.sendJson(body));
+  }
+
+  private CompletableFuture<Response> send(String method, String path,
+    Map<String, String> okapiHeaders, Supplier<Future<HttpResponse<Buffer>>> sender) {
+
+    final var tenant = TenantTool.tenantId(okapiHeaders);
+    final var startedAt = System.nanoTime();
+
+    final var result = downstreamGuard.call(tenant, path, () -> {
+      usage.requestStarted();
+
+      return sender.get()
+        .toCompletionStage()
+        .toCompletableFuture()
+        .whenComplete((response, throwable) -> usage.requestCompleted(throwable != null))
+        .thenApply(this::toResponse);
+    });
+
+    final var serverTiming = ServerTiming.current();
+
+    // requests rejected by the downstream guard are recorded too, with their 503
+    return result.whenComplete((response, throwable) -> {
+      final var completedAt = System.nanoTime();
+
+      ModuleMetrics.recordDownstreamRequest(method, path, tenant,
+        response == null ? -1 : response.statusCode, completedAt - startedAt);
+
+      if (serverTiming != null) {
+        serverTiming.record(method, path, startedAt, completedAt);
+      }
+    });
   }
 
   private URL buildUrl(String path, Map<String, String> okapiHeaders) {
@@ -122,12 +222,38 @@ public class VertxOkapiHttpClient {
     }
   }
 
+  /**
+   * The headers of the patron request, apart from the one asking for its
+   * {@code Server-Timing}, which is not passed on to the other modules
+   */
   private static MultiMap buildHeaders(Map<String, String> okapiHeaders) {
     return MultiMap.caseInsensitiveMultiMap()
-      .addAll(okapiHeaders);
+      .addAll(okapiHeaders)
+      .remove(ServerTiming.REQUEST_HEADER);
   }
 
   private Response toResponse(HttpResponse<Buffer> response) {
-    return new Response(response.statusCode(), response.bodyAsString());
+    return new Response(response.statusCode(), response.body());
+  }
+
+  /**
+   * Identifies a GET by everything that can influence its response: the path and
+   * query, and the forwarded headers (tenant, token, user and so on), apart from
+   * the request id
+   */
+  private record GetKey(String path, Map<String, String> queryParameters,
+    Map<String, String> headers, long timeout) {
+
+    static GetKey of(String path, Map<String, String> queryParameters,
+      Map<String, String> okapiHeaders, long timeout) {
+
+      final Map<String, String> headers = new HashMap<>();
+      okapiHeaders.forEach((name, value) -> {
+        if (!XOkapiHeaders.REQUEST_ID.equalsIgnoreCase(name)) {
+          headers.put(name.toLowerCase(Locale.ROOT), value);
+        }
+      });
+      return new GetKey(path, new HashMap<>(queryParameters), headers, timeout);
+    }
   }
 }
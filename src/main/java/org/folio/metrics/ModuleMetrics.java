@@ -0,0 +1,307 @@
+package org.folio.metrics;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import org.folio.cache.ExpiringAsyncCache;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.FanOutLimiter;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+/**
+ * Metrics of the module, exposed in the Prometheus text format by
+ * {@code GET /patron/metrics}. Each tenant gets the series of its own requests:
+ * <ul>
+ *   <li>{@value #ENDPOINT_REQUESTS}: count, total and maximum latency of the patron
+ *   endpoints, by method, endpoint and status class</li>
+ *   <li>{@value #DOWNSTREAM_REQUESTS}: count, total and maximum latency of the
+ *   requests to other modules, by method, path template and status class</li>
+ *   <li>state and rejections of its circuit breakers</li>
+ * </ul>
+ * The series of the whole module instance are only returned to the tenant
+ * configured by {@code PATRON_METRICS_MODULE_TENANT}:
+ * <ul>
+ *   <li>{@value #ENDPOINT_REQUESTS} and {@value #DOWNSTREAM_REQUESTS} of all the
+ *   tenants together, as histograms</li>
+ *   <li>{@value #STAGES}: duration of the stages of placing a hold</li>
+ *   <li>hits, misses, load failures, refreshes and size of the caches</li>
+ *   <li>requests in flight and waiting of the fan-out limiters</li>
+ *   <li>requests of the HTTP client and bulkhead rejections</li>
+ * </ul>
+ * Only those are histograms, so the number of buckets does not grow with the
+ * number of tenants. The timers are looked up once per set of tags and then
+ * kept, so recording a duration only costs updating the timers.
+ */
+public final class ModuleMetrics {
+  static final String ENDPOINT_REQUESTS = "patron.endpoint.requests";
+  static final String DOWNSTREAM_REQUESTS = "patron.downstream.requests";
+  static final String STAGES = "patron.stages";
+
+  private static final String ERROR = "error";
+  private static final Endpoint UNKNOWN_ENDPOINT = new Endpoint("UNKNOWN", "unknown");
+  private static final String ID_TEMPLATE = "/{id}";
+  private static final Pattern ID_SEGMENT = Pattern.compile(
+    "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+  private static final Pattern EDGE_SLASHES = Pattern.compile("^/+|/+$");
+  private static final String MODULE_TENANT =
+    ModuleConfiguration.getString("PATRON_METRICS_MODULE_TENANT", "supertenant");
+
+  private static final PrometheusMeterRegistry registry =
+    new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  private static final ConcurrentMap<String, PrometheusMeterRegistry> tenantRegistries =
+    new ConcurrentHashMap<>();
+  private static final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<HandlerKey, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private static final StackWalker STACK_WALKER =
+    StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private ModuleMetrics() { }
+
+  /**
+   * @return registry of the series of the whole module instance
+   */
+  public static MeterRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * @return registry of the series of the tenant
+   */
+  public static MeterRegistry getRegistry(String tenant) {
+    return tenantRegistry(tenant);
+  }
+
+  /**
+   * @return the metrics of the tenant in the Prometheus text format, or those of
+   * the whole module instance for the tenant configured to get them
+   */
+  public static String scrape(String tenant) {
+    if (MODULE_TENANT.equals(tenant)) {
+      return registry.scrape();
+    }
+
+    final var tenantRegistry = tenantRegistries.get(tenant == null ? "" : tenant);
+    return tenantRegistry == null ? "" : tenantRegistry.scrape();
+  }
+
+  private static PrometheusMeterRegistry tenantRegistry(String tenant) {
+    return tenantRegistries.computeIfAbsent(tenant == null ? "" : tenant,
+      key -> new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+  }
+
+  /**
+   * Wraps the result handler of an endpoint, so that the time until the result
+   * is handed over is recorded. When the request is timed (see {@link ServerTiming})
+   * the response gets a {@code Server-Timing} header.
+   *
+   * <p>The method and path of the endpoint are those the JAX-RS annotations of the
+   * RMB generated interface declare for the handler this is called from, e.g.
+   * {@code GET /patron/account/{id}} for {@code getPatronAccountById}
+   */
+  public static Handler<AsyncResult<Response>> timeEndpoint(Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    final var endpoint = STACK_WALKER.walk(frames -> frames
+      .filter(frame -> frame.getDeclaringClass() != ModuleMetrics.class)
+      .findFirst()
+      .map(frame -> endpointOf(frame.getDeclaringClass(), frame.getMethodName()))
+      .orElse(UNKNOWN_ENDPOINT));
+
+    return timeEndpoint(endpoint.method(), endpoint.path(), okapiHeaders, asyncResultHandler,
+      vertxContext);
+  }
+
+  static Handler<AsyncResult<Response>> timeEndpoint(String method, String endpoint,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler,
+    Context vertxContext) {
+
+    final var startedAt = System.nanoTime();
+    final var tenant = TenantTool.tenantId(okapiHeaders);
+    ServerTiming.track(vertxContext, okapiHeaders);
+
+    return result -> {
+      final var status = result.succeeded() && result.result() != null
+        ? statusClass(result.result().getStatus())
+        : statusClass(500);
+
+      record(tenant, System.nanoTime() - startedAt, ENDPOINT_REQUESTS,
+        "method", method, "endpoint", endpoint, "status", status);
+      resultHandler.handle(withServerTiming(result, ServerTiming.stop(vertxContext)));
+    };
+  }
+
+  /**
+   * @param statusCode status of the response, or a negative value when no
+   * response was received
+   */
+  public static void recordDownstreamRequest(String method, String path, String tenant,
+    int statusCode, long nanos) {
+
+    record(tenant, nanos, DOWNSTREAM_REQUESTS,
+      "method", method, "path", pathTemplate(path), "status", statusClass(statusCode));
+  }
+
+  public static void recordStage(String stage, long nanos) {
+    timer(null, STAGES, "stage", stage).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Exposes the counters of the cache
+   *
+   * @return the cache
+   */
+  public static <C extends ExpiringAsyncCache<?, ?>> C bindCache(C cache) {
+    final var name = cache.getName();
+
+    FunctionCounter.builder("patron.cache.hits", cache, ExpiringAsyncCache::getHitCount)
+      .tag("cache", name).register(registry);
+    FunctionCounter.builder("patron.cache.misses", cache, ExpiringAsyncCache::getMissCount)
+      .tag("cache", name).register(registry);
+    FunctionCounter.builder("patron.cache.load.failures", cache,
+        ExpiringAsyncCache::getLoadFailureCount)
+      .tag("cache", name).register(registry);
+    FunctionCounter.builder("patron.cache.refreshes", cache, ExpiringAsyncCache::getRefreshCount)
+      .tag("cache", name).register(registry);
+    Gauge.builder("patron.cache.size", cache, ExpiringAsyncCache::size)
+      .tag("cache", name).register(registry);
+
+    return cache;
+  }
+
+  private static AsyncResult<Response> withServerTiming(AsyncResult<Response> result,
+    ServerTiming serverTiming) {
+
+    if (serverTiming == null || result.failed() || result.result() == null) {
+      return result;
+    }
+
+    return succeededFuture(Response.fromResponse(result.result())
+      .header(ServerTiming.RESPONSE_HEADER, serverTiming.toHeaderValue())
+      .build());
+  }
+
+  /**
+   * Exposes the requests in flight and waiting of the limiter
+   *
+   * @return the limiter
+   */
+  public static FanOutLimiter bindFanOutLimiter(FanOutLimiter limiter) {
+    Gauge.builder("patron.fan.out.in.flight", limiter, FanOutLimiter::getInFlight)
+      .tag("limiter", limiter.getName()).register(registry);
+    Gauge.builder("patron.fan.out.waiting", limiter, FanOutLimiter::getWaiting)
+      .tag("limiter", limiter.getName()).register(registry);
+
+    return limiter;
+  }
+
+  /**
+   * @return the endpoint the handler method implements, looked up once per handler
+   */
+  static Endpoint endpointOf(Class<?> handlerClass, String handlerName) {
+    return endpoints.computeIfAbsent(new HandlerKey(handlerClass, handlerName),
+      key -> findEndpoint(handlerClass, handlerName));
+  }
+
+  private static Endpoint findEndpoint(Class<?> handlerClass, String handlerName) {
+    for (final var api : handlerClass.getInterfaces()) {
+      final var apiPath = api.getAnnotation(Path.class);
+      if (apiPath == null) {
+        continue;
+      }
+
+      for (final var method : api.getMethods()) {
+        final var httpMethod = httpMethodOf(method);
+        if (httpMethod != null && method.getName().equals(handlerName)) {
+          final var path = method.getAnnotation(Path.class);
+          return new Endpoint(httpMethod,
+            joinPaths(apiPath.value(), path == null ? "" : path.value()));
+        }
+      }
+    }
+    return new Endpoint(UNKNOWN_ENDPOINT.method(), handlerName);
+  }
+
+  private static String httpMethodOf(Method method) {
+    return Arrays.stream(method.getAnnotations())
+      .map(annotation -> annotation.annotationType().getAnnotation(HttpMethod.class))
+      .filter(Objects::nonNull)
+      .map(HttpMethod::value)
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static String joinPaths(String apiPath, String methodPath) {
+    final var api = EDGE_SLASHES.matcher(apiPath).replaceAll("");
+    final var method = EDGE_SLASHES.matcher(methodPath).replaceAll("");
+
+    return method.isEmpty() ? "/" + api : "/" + api + "/" + method;
+  }
+
+  /**
+   * Replaces the ids in the path by a placeholder, so that all the requests for
+   * records of the same kind share their metrics, e.g. {@code /users/{id}}
+   */
+  static String pathTemplate(String path) {
+    return ID_SEGMENT.matcher(path).replaceAll(ID_TEMPLATE);
+  }
+
+  static String statusClass(int statusCode) {
+    return statusCode < 0 ? ERROR : statusCode / 100 + "xx";
+  }
+
+  /**
+   * Records the duration in the timer of the tenant and in the histogram of all
+   * the tenants
+   */
+  private static void record(String tenant, long nanos, String name, String... tags) {
+    timer(null, name, tags).record(nanos, TimeUnit.NANOSECONDS);
+    timer(tenant == null ? "" : tenant, name, tags).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param tenant tenant whose registry has the timer, null for the histogram of
+   * the whole module instance
+   */
+  private static Timer timer(String tenant, String name, String... tags) {
+    return timers.computeIfAbsent(new TimerKey(tenant, name, List.of(tags)), key -> {
+      final var builder = Timer.builder(name).tags(tags);
+
+      return tenant == null
+        ? builder.publishPercentileHistogram()
+          .minimumExpectedValue(Duration.ofMillis(1))
+          .maximumExpectedValue(Duration.ofMinutes(1))
+          .register(registry)
+        : builder.register(tenantRegistry(tenant));
+    });
+  }
+
+  record Endpoint(String method, String path) { }
+
+  private record HandlerKey(Class<?> handlerClass, String handlerName) { }
+
+  private record TimerKey(String tenant, String name, List<String> tags) { }
+}
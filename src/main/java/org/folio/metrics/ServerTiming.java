@@ -0,0 +1,140 @@
+package org.folio.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Durations of the requests to other modules made while handling one request,
+ * reported in the {@code Server-Timing} header of its response when the caller
+ * asks for them with the {@value #REQUEST_HEADER} header.
+ *
+ * <p>The timing is kept in the local data of the Vert.x context of the request,
+ * which Vert.x hands on to the callbacks of the requests sent while handling it,
+ * so it does not depend on the Okapi headers being passed on unchanged. Requests to the same path are reported together: the duration runs from the
+ * start of the first one to the end of the last one, and the count tells how many
+ * there were, e.g. {@code items;desc="GET /inventory/items";dur=35.2;count=4} for
+ * four chunks fetched in parallel.
+ */
+public class ServerTiming {
+  public static final String REQUEST_HEADER = "X-Okapi-Server-Timing";
+  public static final String RESPONSE_HEADER = "Server-Timing";
+
+  private static final String LOCAL_KEY = ServerTiming.class.getName();
+
+  private final long startedAt = System.nanoTime();
+  private final ConcurrentMap<String, Calls> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Starts timing the request when the caller asked for it
+   */
+  public static void track(Context vertxContext, Map<String, String> okapiHeaders) {
+    if (vertxContext != null && isRequested(okapiHeaders)) {
+      vertxContext.putLocal(LOCAL_KEY, new ServerTiming());
+    }
+  }
+
+  /**
+   * @return the timing of the request being handled on the current Vert.x
+   * context, null when it is not tracked
+   */
+  public static ServerTiming current() {
+    final var vertxContext = Vertx.currentContext();
+
+    return vertxContext == null ? null : vertxContext.getLocal(LOCAL_KEY);
+  }
+
+  /**
+   * Stops timing the request, the requests sent on its context afterwards are
+   * not recorded
+   *
+   * @return the timing of the request, null when it is not tracked
+   */
+  public static ServerTiming stop(Context vertxContext) {
+    if (vertxContext == null) {
+      return null;
+    }
+
+    final ServerTiming serverTiming = vertxContext.getLocal(LOCAL_KEY);
+    if (serverTiming != null) {
+      vertxContext.removeLocal(LOCAL_KEY);
+    }
+    return serverTiming;
+  }
+
+  public void record(String method, String path, long startNanos, long endNanos) {
+    final var template = ModuleMetrics.pathTemplate(path);
+
+    calls.computeIfAbsent(method + " " + template, description -> new Calls(name(template)))
+      .add(startNanos, endNanos);
+  }
+
+  /**
+   * @return value of the {@code Server-Timing} header, the requests to other
+   * modules in the order they were started followed by the total
+   */
+  public String toHeaderValue() {
+    final var total = System.nanoTime() - startedAt;
+
+    final var downstream = calls.entrySet().stream()
+      .sorted(Map.Entry.comparingByValue((first, second) ->
+        Long.compare(first.firstStart, second.firstStart)))
+      .map(entry -> entry.getValue().toHeaderValue(entry.getKey()))
+      .collect(Collectors.joining(", "));
+
+    final var totalValue = "total;dur=" + millis(total);
+    return downstream.isEmpty() ? totalValue : downstream + ", " + totalValue;
+  }
+
+  private static boolean isRequested(Map<String, String> okapiHeaders) {
+    return okapiHeaders != null && okapiHeaders.entrySet().stream()
+      .anyMatch(header -> REQUEST_HEADER.equalsIgnoreCase(header.getKey())
+        && "true".equalsIgnoreCase(header.getValue()));
+  }
+
+  /**
+   * The last segment of the path that is not an id, e.g. {@code users} for
+   * {@code /users/{id}}
+   */
+  private static String name(String template) {
+    final var segments = template.split("/");
+    for (int i = segments.length - 1; i >= 0; i--) {
+      if (!segments[i].isEmpty() && !segments[i].startsWith("{")) {
+        return segments[i];
+      }
+    }
+    return "root";
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private static class Calls {
+    private final String name;
+    private long firstStart = Long.MAX_VALUE;
+    private long lastEnd = Long.MIN_VALUE;
+    private int count;
+
+    Calls(String name) {
+      this.name = name;
+    }
+
+    synchronized void add(long startNanos, long endNanos) {
+      firstStart = Math.min(firstStart, startNanos);
+      lastEnd = Math.max(lastEnd, endNanos);
+      count++;
+    }
+
+    synchronized String toHeaderValue(String description) {
+      return name + ";desc=\"" + description + "\";dur=" + millis(lastEnd - firstStart)
+        + ";count=" + count;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package org.folio.metrics;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Durations of the named stages of processing a single request. Stages may run
+ * concurrently, so the durations usually add up to more than the request took.
+ * Every duration is also recorded in the {@link ModuleMetrics} of the stage.
+ */
+public class StageTimings {
+  private final Map<String, Long> durationNanos = new ConcurrentHashMap<>();
+
+  /**
+   * Starts the stage and records its duration once the returned future completes,
+   * whether it completes normally or exceptionally
+   */
+  public <T> CompletableFuture<T> time(String stage, Supplier<CompletableFuture<T>> stageSupplier) {
+    final var startedAt = System.nanoTime();
+    final CompletableFuture<T> future;
+    try {
+      future = stageSupplier.get();
+    } catch (RuntimeException e) {
+      record(stage, System.nanoTime() - startedAt);
+      throw e;
+    }
+    return future.whenComplete((notUsed, throwable) -> record(stage, System.nanoTime() - startedAt));
+  }
+
+  public void record(String stage, long nanos) {
+    durationNanos.merge(stage, nanos, Long::sum);
+    ModuleMetrics.recordStage(stage, nanos);
+  }
+
+  public Map<String, Long> getDurationsMillis() {
+    return durationNanos.entrySet().stream()
+      .collect(Collectors.toMap(Map.Entry::getKey,
+        entry -> TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
+  }
+
+  @Override
+  public String toString() {
+    return durationNanos.entrySet().stream()
+      .map(entry -> entry.getKey() + "=" + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + "ms")
+      .sorted()
+      .collect(Collectors.joining(", ", "{", "}"));
+  }
+}
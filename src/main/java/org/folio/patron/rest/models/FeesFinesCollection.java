@@ -0,0 +1,35 @@
+package org.folio.patron.rest.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The fields of a page of fee/fine accounts that the patron account uses. The
+ * other fields are skipped while parsing, without building JSON nodes for them.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FeesFinesCollection(List<FeeFine> accounts, int totalRecords)
+  implements PagedCollection<FeesFinesCollection> {
+
+  @Override
+  public FeesFinesCollection withPages(List<FeesFinesCollection> pages) {
+    final List<FeeFine> records = accounts == null ? new ArrayList<>() : new ArrayList<>(accounts);
+    pages.stream()
+      .filter(page -> page.accounts() != null)
+      .forEach(page -> records.addAll(page.accounts()));
+
+    return new FeesFinesCollection(records, totalRecords);
+  }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record FeeFine(String itemId, Double remaining, String feeFineType,
+    Metadata metadata, PaymentStatus paymentStatus) { }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record Metadata(String createdDate) { }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record PaymentStatus(String name) { }
+}
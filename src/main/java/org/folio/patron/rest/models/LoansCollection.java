@@ -0,0 +1,34 @@
+package org.folio.patron.rest.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The fields of a page of circulation loans that the patron account uses. The
+ * other fields are skipped while parsing, without building JSON nodes for them.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LoansCollection(List<Loan> loans, int totalRecords)
+  implements PagedCollection<LoansCollection> {
+
+  @Override
+  public LoansCollection withPages(List<LoansCollection> pages) {
+    final List<Loan> records = loans == null ? new ArrayList<>() : new ArrayList<>(loans);
+    pages.stream()
+      .filter(page -> page.loans() != null)
+      .forEach(page -> records.addAll(page.loans()));
+
+    return new LoansCollection(records, totalRecords);
+  }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record Loan(String id, String itemId, String loanDate, String dueDate, Item item) { }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record Item(String instanceId, String title, List<Contributor> contributors) { }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record Contributor(String name) { }
+}
@@ -0,0 +1,17 @@
+package org.folio.patron.rest.models;
+
+import java.util.List;
+
+/**
+ * A page of a collection that can be merged with the pages after it, so that the
+ * pages are decoded straight to the type and never to a JSON tree.
+ */
+public interface PagedCollection<T extends PagedCollection<T>> {
+
+  int totalRecords();
+
+  /**
+   * @return the collection with the records of this page followed by those of the pages
+   */
+  T withPages(List<T> pages);
+}
@@ -0,0 +1,217 @@
+package org.folio.patron.utils;
+
+import static java.time.temporal.ChronoField.HOUR_OF_DAY;
+import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * Decodes the ISO-8601 timestamps of other modules. The format they emit,
+ * {@code 2018-06-01T11:12:00.000Z} or with a {@code +00:00} / {@code +0000} offset,
+ * is decoded without any intermediate objects. Anything else (date only, no
+ * seconds, no offset) goes through a shared lenient formatter, a timestamp without
+ * an offset is taken to be in UTC.
+ */
+public final class IsoTimestamps {
+  private static final long INVALID = Long.MIN_VALUE;
+
+  private static final DateTimeFormatter LENIENT_FORMATTER = new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE)
+    .optionalStart()
+    .appendLiteral('T')
+    .appendValue(HOUR_OF_DAY, 2)
+    .optionalStart()
+    .appendLiteral(':')
+    .appendValue(MINUTE_OF_HOUR, 2)
+    .optionalStart()
+    .appendLiteral(':')
+    .appendValue(SECOND_OF_MINUTE, 2)
+    .optionalStart()
+    .appendFraction(NANO_OF_SECOND, 0, 9, true)
+    .optionalEnd()
+    .optionalEnd()
+    .optionalEnd()
+    .optionalEnd()
+    .optionalStart()
+    .appendOffset("+HH:MM", "Z")
+    .optionalEnd()
+    .optionalStart()
+    .appendOffset("+HHMM", "Z")
+    .optionalEnd()
+    .optionalStart()
+    .appendOffset("+HH", "Z")
+    .optionalEnd()
+    .parseDefaulting(HOUR_OF_DAY, 0)
+    .parseDefaulting(MINUTE_OF_HOUR, 0)
+    .parseDefaulting(SECOND_OF_MINUTE, 0)
+    .parseDefaulting(NANO_OF_SECOND, 0)
+    .toFormatter()
+    .withResolverStyle(ResolverStyle.STRICT);
+
+  private IsoTimestamps() { }
+
+  /**
+   * @return the timestamp as a date, the current time when there is no timestamp
+   * like the Joda {@code new DateTime(null)} this replaces
+   * @throws java.time.format.DateTimeParseException when it is not an ISO-8601 timestamp
+   */
+  public static Date toDate(String timestamp) {
+    return timestamp == null ? new Date() : new Date(toEpochMilli(timestamp));
+  }
+
+  public static long toEpochMilli(String timestamp) {
+    final long epochMilli = decode(timestamp);
+
+    return epochMilli != INVALID ? epochMilli : decodeLeniently(timestamp);
+  }
+
+  private static long decodeLeniently(String timestamp) {
+    final TemporalAccessor parsed = LENIENT_FORMATTER.parse(timestamp);
+    final ZoneOffset offset = parsed.isSupported(ChronoField.OFFSET_SECONDS)
+      ? ZoneOffset.ofTotalSeconds(parsed.get(ChronoField.OFFSET_SECONDS))
+      : ZoneOffset.UTC;
+
+    return LocalDateTime.from(parsed).toInstant(offset).toEpochMilli();
+  }
+
+  /**
+   * @return the epoch millisecond of {@code yyyy-MM-ddTHH:mm:ss[.S...](Z|+HH:MM|+HHMM)},
+   * {@link #INVALID} for anything else
+   */
+  private static long decode(String s) {
+    final int length = s.length();
+    if (length < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+      || s.charAt(13) != ':' || s.charAt(16) != ':') {
+
+      return INVALID;
+    }
+
+    final int year = digits(s, 0, 4);
+    final int month = digits(s, 5, 2);
+    final int day = digits(s, 8, 2);
+    final int hour = digits(s, 11, 2);
+    final int minute = digits(s, 14, 2);
+    final int second = digits(s, 17, 2);
+    if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+      || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+
+      return INVALID;
+    }
+
+    int position = 19;
+    int millis = 0;
+    if (s.charAt(position) == '.') {
+      final int fractionStart = ++position;
+      while (position < length && isDigit(s.charAt(position))) {
+        if (position - fractionStart < 3) {
+          millis = millis * 10 + (s.charAt(position) - '0');
+        }
+        position++;
+      }
+      final int fractionDigits = position - fractionStart;
+      if (fractionDigits == 0) {
+        return INVALID;
+      }
+      for (int i = fractionDigits; i < 3; i++) {
+        millis *= 10;
+      }
+    }
+
+    final int offsetSeconds = offsetSeconds(s, position);
+    if (offsetSeconds == Integer.MIN_VALUE) {
+      return INVALID;
+    }
+
+    final long epochSecond = epochDay(year, month, day) * 86_400
+      + hour * 3600L + minute * 60L + second - offsetSeconds;
+
+    return epochSecond * 1000 + millis;
+  }
+
+  /**
+   * @return seconds of the offset at the end of the timestamp, {@link Integer#MIN_VALUE}
+   * when there is none
+   */
+  private static int offsetSeconds(String s, int position) {
+    final int remaining = s.length() - position;
+    if (remaining == 1 && s.charAt(position) == 'Z') {
+      return 0;
+    }
+
+    final char sign = remaining > 0 ? s.charAt(position) : ' ';
+    if (sign != '+' && sign != '-') {
+      return Integer.MIN_VALUE;
+    }
+
+    final int hours;
+    final int minutes;
+    if (remaining == 6 && s.charAt(position + 3) == ':') {
+      hours = digits(s, position + 1, 2);
+      minutes = digits(s, position + 4, 2);
+    } else if (remaining == 5) {
+      hours = digits(s, position + 1, 2);
+      minutes = digits(s, position + 3, 2);
+    } else {
+      return Integer.MIN_VALUE;
+    }
+    if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+      return Integer.MIN_VALUE;
+    }
+
+    final int seconds = hours * 3600 + minutes * 60;
+    return sign == '+' ? seconds : -seconds;
+  }
+
+  /**
+   * @return value of the decimal digits, -1 when any of them is not a digit
+   */
+  private static int digits(String s, int start, int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      final char c = s.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static int daysInMonth(int year, int month) {
+    return switch (month) {
+      case 2 -> isLeapYear(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  private static boolean isLeapYear(int year) {
+    return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+  }
+
+  /**
+   * Days since 1970-01-01 of a date of the proleptic Gregorian calendar
+   */
+  private static long epochDay(int year, int month, int day) {
+    final int y = month <= 2 ? year - 1 : year;
+    final int era = Math.floorDiv(y, 400);
+    final int yearOfEra = y - era * 400;
+    final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+    return era * 146_097L + dayOfEra - 719_468;
+  }
+}
@@ -0,0 +1,169 @@
+package org.folio.rest.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Resolves the allowed service points of several items with one request to
+ * circulation per group of equivalent items instead of one per item. Items of the
+ * same holdings record, with the same effective location, material type,
+ * effective loan type and status, are subject to the same circulation rules, so
+ * circulation gives them the same answer: it is asked for the first item of each
+ * group and the answer is handed to the other items. Items that cannot be looked
+ * up, or lack one of these properties, are resolved on their own.
+ */
+public class AllowedServicePointsResolver {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final Function<Collection<String>, CompletableFuture<Map<String, JsonObject>>> itemsLookup;
+  private final Function<String, CompletableFuture<JsonObject>> servicePointsLookup;
+
+  /**
+   * @param itemsLookup items by id, ids of items that were not found are absent
+   * @param servicePointsLookup allowed service points of an item, the body of the
+   * response of circulation
+   */
+  public AllowedServicePointsResolver(
+    Function<Collection<String>, CompletableFuture<Map<String, JsonObject>>> itemsLookup,
+    Function<String, CompletableFuture<JsonObject>> servicePointsLookup) {
+
+    this.itemsLookup = itemsLookup;
+    this.servicePointsLookup = servicePointsLookup;
+  }
+
+  /**
+   * @return allowed service points by item id, fails when one of the requests
+   * to circulation fails
+   */
+  public CompletableFuture<Map<String, JsonObject>> resolve(List<String> itemIds) {
+    final var distinctItemIds = itemIds.stream().distinct().toList();
+
+    if (distinctItemIds.size() < 2) {
+      return resolveEach(distinctItemIds);
+    }
+
+    return lookUpItems(distinctItemIds)
+      .thenCompose(items -> resolveGroups(group(distinctItemIds, items)));
+  }
+
+  /**
+   * @return the items found, none when the lookup fails
+   */
+  private CompletableFuture<Map<String, JsonObject>> lookUpItems(List<String> itemIds) {
+    try {
+      return itemsLookup.apply(itemIds)
+        .exceptionally(throwable -> {
+          logger.warn("lookUpItems:: failed to look up {} items", itemIds.size(), throwable);
+          return Map.of();
+        });
+    } catch (RuntimeException e) {
+      logger.warn("lookUpItems:: failed to look up {} items", itemIds.size(), e);
+      return CompletableFuture.completedFuture(Map.of());
+    }
+  }
+
+  private CompletableFuture<Map<String, JsonObject>> resolveEach(List<String> itemIds) {
+    final Map<Object, List<String>> groups = new LinkedHashMap<>();
+    itemIds.forEach(itemId -> groups.put(itemId, List.of(itemId)));
+
+    return resolveGroups(groups);
+  }
+
+  private static Map<Object, List<String>> group(List<String> itemIds,
+    Map<String, JsonObject> items) {
+
+    final Map<Object, List<String>> groups = new LinkedHashMap<>();
+    int ungrouped = 0;
+    for (String itemId : itemIds) {
+      final var key = EquivalenceKey.of(items.get(itemId));
+      if (key == null) {
+        ungrouped++;
+      }
+      groups.computeIfAbsent(key == null ? itemId : key, notUsed -> new ArrayList<>())
+        .add(itemId);
+    }
+
+    if (items.isEmpty()) {
+      logger.warn("group:: none of the {} items could be looked up, each of them is resolved on its own",
+        itemIds.size());
+    } else if (ungrouped > 0) {
+      logger.warn("group:: {} of {} items were not found or are incomplete, they are resolved on their own",
+        ungrouped, itemIds.size());
+    }
+
+    logger.info("group:: {} items fall into {} groups of equivalent items",
+      itemIds.size(), groups.size());
+
+    return groups;
+  }
+
+  private CompletableFuture<Map<String, JsonObject>> resolveGroups(
+    Map<Object, List<String>> groups) {
+
+    final Map<List<String>, CompletableFuture<JsonObject>> answers = new LinkedHashMap<>();
+    groups.values().forEach(group -> answers.put(group, servicePointsLookup.apply(group.get(0))));
+
+    return CompletableFuture.allOf(answers.values().toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> {
+        final Map<String, JsonObject> servicePoints = new HashMap<>();
+        answers.forEach((group, answer) ->
+          group.forEach(itemId -> servicePoints.put(itemId, answer.join())));
+        return servicePoints;
+      });
+  }
+
+  /**
+   * The properties of an item that the circulation rules and the allowed
+   * request types depend on
+   */
+  record EquivalenceKey(String holdingsRecordId, String effectiveLocationId,
+    String materialTypeId, String loanTypeId, String status) {
+
+    /**
+     * @return the key of the item, null when the item or one of its properties is missing
+     */
+    static EquivalenceKey of(JsonObject item) {
+      if (item == null) {
+        return null;
+      }
+
+      final var temporaryLoanTypeId = referencedId(item, "temporaryLoanType");
+      final var loanTypeId = temporaryLoanTypeId != null
+        ? temporaryLoanTypeId
+        : referencedId(item, "permanentLoanType");
+      final var status = item.getJsonObject("status", new JsonObject()).getString("name");
+
+      final var key = new EquivalenceKey(item.getString("holdingsRecordId"),
+        referencedId(item, "effectiveLocation"), referencedId(item, "materialType"),
+        loanTypeId, status);
+
+      return Stream.of(key.holdingsRecordId, key.effectiveLocationId, key.materialTypeId,
+        key.loanTypeId, key.status).anyMatch(Objects::isNull) ? null : key;
+    }
+
+    /**
+     * Inventory items reference records with an object ({@code materialType.id}),
+     * circulation items with an id property ({@code materialTypeId})
+     */
+    private static String referencedId(JsonObject item, String property) {
+      final var reference = item.getValue(property);
+
+      return reference instanceof JsonObject json
+        ? json.getString("id")
+        : item.getString(property + "Id");
+    }
+  }
+}
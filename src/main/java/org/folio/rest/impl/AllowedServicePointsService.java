@@ -0,0 +1,174 @@
+package org.folio.rest.impl;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cache.ExpiringAsyncCache;
+import org.folio.cache.TenantScopedKey;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.ResponseInterpreter;
+import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.metrics.ModuleMetrics;
+import org.folio.rest.jaxrs.model.AllowedServicePoint;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Resolves the service points at which a patron may pick up an item. The answer of
+ * circulation depends on the patron group of the patron and on the effective
+ * location, material type, effective loan type and status of the item, so it is
+ * cached for that combination for a short time. When the patron or the item cannot
+ * be looked up, circulation is asked without the cache.
+ * <p>
+ * The requester is not part of the key, so a cached answer is shared by all the
+ * patrons of the group. An empty answer is not cached, as it usually depends on
+ * the requester.
+ */
+class AllowedServicePointsService {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final int MAX_CACHED_SERVICE_POINTS = 10_000;
+
+  private static final ExpiringAsyncCache<TenantScopedKey, Set<AllowedServicePoint>> ALLOWED_SERVICE_POINTS_CACHE =
+    ModuleMetrics.bindCache(new ExpiringAsyncCache<>("allowed-service-points",
+      ModuleConfiguration.getLong("ALLOWED_SERVICE_POINTS_CACHE_TTL_SECONDS", 30),
+      TimeUnit.SECONDS, MAX_CACHED_SERVICE_POINTS));
+
+  private final VertxOkapiHttpClient httpClient;
+  private final Map<String, String> okapiHeaders;
+
+  AllowedServicePointsService(VertxOkapiHttpClient httpClient, Map<String, String> okapiHeaders) {
+    this.httpClient = httpClient;
+    this.okapiHeaders = okapiHeaders;
+  }
+
+  /**
+   * @param path path of the allowed service points of circulation or of its BFF
+   */
+  CompletableFuture<Set<AllowedServicePoint>> getForItem(String path, String requesterId,
+    String itemId) {
+
+    final Map<String, String> queryParameters = Map.of(
+      "operation", "create",
+      "requesterId", requesterId,
+      "itemId", itemId);
+
+    if (!ALLOWED_SERVICE_POINTS_CACHE.isEnabled()) {
+      return fetch(path, queryParameters);
+    }
+
+    final var user = httpClient.get("/users/" + requesterId, Map.of(), okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBodyNoThrow);
+    final var item = new ItemRepository(httpClient).getItemNoThrow(itemId, okapiHeaders);
+
+    return user.thenCombine(item, (userJson, itemJson) -> CacheKey.of(path, userJson, itemJson))
+      .thenCompose(key -> {
+        if (key == null) {
+          logger.info("getForItem:: patron {} or item {} was not found, not caching", requesterId, itemId);
+          return fetch(path, queryParameters);
+        }
+        final var cacheKey = TenantScopedKey.of(okapiHeaders, key);
+        return ALLOWED_SERVICE_POINTS_CACHE.get(cacheKey, () -> fetch(path, queryParameters))
+          .thenApply(servicePoints -> {
+            // No service points usually means a reason of the requester, e.g. a
+            // block or a request they already have, which is not shared by the group
+            if (servicePoints.isEmpty()) {
+              ALLOWED_SERVICE_POINTS_CACHE.invalidate(cacheKey);
+            }
+            return servicePoints;
+          });
+      });
+  }
+
+  /**
+   * Drops the cached service points of items like the given one, whatever their
+   * status, as a hold may just have changed the status of the item
+   */
+  static void invalidateItem(String tenantId, JsonObject item) {
+    final var itemKey = AllowedServicePointsResolver.EquivalenceKey.of(item);
+    if (itemKey == null) {
+      return;
+    }
+
+    ALLOWED_SERVICE_POINTS_CACHE.invalidateIf(key -> key.belongsTo(tenantId)
+      && key.key() instanceof CacheKey cacheKey && cacheKey.isFor(itemKey));
+  }
+
+  /**
+   * Drops all cached service points of the tenant
+   */
+  static void invalidate(String tenantId) {
+    logger.info("invalidate:: dropping cached allowed service points of tenant {}", tenantId);
+    ALLOWED_SERVICE_POINTS_CACHE.invalidateIf(key -> key.belongsTo(tenantId));
+  }
+
+  static ExpiringAsyncCache<TenantScopedKey, Set<AllowedServicePoint>> getAllowedServicePointsCache() {
+    return ALLOWED_SERVICE_POINTS_CACHE;
+  }
+
+  /**
+   * Collects the service points allowed for any request type. A service point
+   * allowed for several request types is built once
+   */
+  static Set<AllowedServicePoint> collect(JsonObject body) {
+    final Map<String, AllowedServicePoint> servicePoints = new LinkedHashMap<>();
+
+    Stream.of(body.getJsonArray("Page"), body.getJsonArray("Hold"), body.getJsonArray("Recall"))
+      .filter(Objects::nonNull)
+      .flatMap(JsonArray::stream)
+      .map(JsonObject.class::cast)
+      .forEach(servicePoint -> servicePoints.computeIfAbsent(servicePoint.getString("id"),
+        id -> new AllowedServicePoint()
+          .withId(id)
+          .withName(servicePoint.getString("name"))
+          .withDiscoveryName(servicePoint.getString("discoveryDisplayName"))));
+
+    return new LinkedHashSet<>(servicePoints.values());
+  }
+
+  private CompletableFuture<Set<AllowedServicePoint>> fetch(String path,
+    Map<String, String> queryParameters) {
+
+    return httpClient.getExtendedTimeout(path, queryParameters, okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBody)
+      .thenApply(AllowedServicePointsService::collect);
+  }
+
+  /**
+   * What the allowed service points of an item depend on. The path tells apart
+   * the answers of circulation and of its BFF
+   */
+  record CacheKey(String path, String patronGroupId, String effectiveLocationId,
+    String materialTypeId, String loanTypeId, String status) {
+
+    /**
+     * @return the key, null when the user or item is missing or incomplete
+     */
+    static CacheKey of(String path, JsonObject user, JsonObject item) {
+      final var itemKey = AllowedServicePointsResolver.EquivalenceKey.of(item);
+      final var patronGroupId = user == null ? null : user.getString("patronGroup");
+
+      if (itemKey == null || patronGroupId == null) {
+        return null;
+      }
+
+      return new CacheKey(path, patronGroupId, itemKey.effectiveLocationId(),
+        itemKey.materialTypeId(), itemKey.loanTypeId(), itemKey.status());
+    }
+
+    boolean isFor(AllowedServicePointsResolver.EquivalenceKey itemKey) {
+      return effectiveLocationId.equals(itemKey.effectiveLocationId())
+        && materialTypeId.equals(itemKey.materialTypeId())
+        && loanTypeId.equals(itemKey.loanTypeId());
+    }
+  }
+}
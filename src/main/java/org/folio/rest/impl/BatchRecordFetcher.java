@@ -0,0 +1,111 @@
+package org.folio.rest.impl;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.rest.impl.Constants.JSON_FIELD_ID;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.integration.http.Response;
+import org.folio.integration.http.ResponseInterpreter;
+import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.util.StringUtil;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Fetches records of a collection by their ids with as few requests as possible,
+ * using chunked {@code id==(a or b or ...)} CQL queries that are sent concurrently.
+ */
+public class BatchRecordFetcher {
+  private static final Logger logger = LogManager.getLogger();
+  // keeps the query string well below the URL length limits of Okapi and the gateways
+  static final int MAX_IDS_PER_QUERY = 50;
+
+  private final VertxOkapiHttpClient client;
+
+  public BatchRecordFetcher(VertxOkapiHttpClient client) {
+    this.client = client;
+  }
+
+  /**
+   * @return records found, by id. Ids without a record are absent from the map
+   */
+  public CompletableFuture<Map<String, JsonObject>> fetchByIds(String path,
+    String collectionName, Collection<String> ids, Map<String, String> okapiHeaders) {
+
+    return fetchByIds(path, collectionName, ids, okapiHeaders,
+      ResponseInterpreter::verifyAndExtractBody);
+  }
+
+  /**
+   * Same as {@link #fetchByIds}, but a failed chunk is treated as if none of
+   * its records were found
+   */
+  public CompletableFuture<Map<String, JsonObject>> fetchByIdsNoThrow(String path,
+    String collectionName, Collection<String> ids, Map<String, String> okapiHeaders) {
+
+    return fetchByIds(path, collectionName, ids, okapiHeaders,
+      ResponseInterpreter::verifyAndExtractBodyNoThrow);
+  }
+
+  private CompletableFuture<Map<String, JsonObject>> fetchByIds(String path,
+    String collectionName, Collection<String> ids, Map<String, String> okapiHeaders,
+    Function<Response, JsonObject> bodyExtractor) {
+
+    final List<String> distinctIds = ids.stream()
+      .filter(Objects::nonNull)
+      .distinct()
+      .toList();
+
+    if (distinctIds.isEmpty()) {
+      return completedFuture(Map.of());
+    }
+
+    logger.info("fetchByIds:: fetching {} records from {} in chunks of {}",
+      distinctIds.size(), path, MAX_IDS_PER_QUERY);
+
+    final List<CompletableFuture<JsonArray>> chunks = new ArrayList<>();
+    for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_QUERY) {
+      final var chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.size()));
+      chunks.add(fetchChunk(path, collectionName, chunk, okapiHeaders, bodyExtractor));
+    }
+
+    return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> {
+        final Map<String, JsonObject> records = new HashMap<>();
+        chunks.stream()
+          .map(CompletableFuture::join)
+          .flatMap(JsonArray::stream)
+          .filter(JsonObject.class::isInstance)
+          .map(JsonObject.class::cast)
+          .forEach(json -> records.put(json.getString(JSON_FIELD_ID), json));
+        return records;
+      });
+  }
+
+  private CompletableFuture<JsonArray> fetchChunk(String path, String collectionName,
+    List<String> ids, Map<String, String> okapiHeaders,
+    Function<Response, JsonObject> bodyExtractor) {
+
+    final var query = ids.stream()
+      .map(StringUtil::cqlEncode)
+      .collect(Collectors.joining(" or ", "id==(", ")"));
+
+    return client.get(path, Map.of("query", query, "limit", String.valueOf(ids.size())), okapiHeaders)
+      .thenApply(bodyExtractor)
+      .thenApply(body -> body == null
+        ? new JsonArray()
+        : body.getJsonArray(collectionName, new JsonArray()));
+  }
+}
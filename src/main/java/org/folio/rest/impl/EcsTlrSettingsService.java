@@ -8,12 +8,17 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.cache.ExpiringAsyncCache;
+import org.folio.cache.TenantScopedKey;
+import org.folio.config.ModuleConfiguration;
 import org.folio.integration.http.ResponseInterpreter;
 import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.metrics.ModuleMetrics;
 import org.folio.patron.rest.exceptions.HttpException;
 import org.folio.patron.rest.exceptions.UnexpectedFetchingException;
 
@@ -27,11 +32,28 @@ public class EcsTlrSettingsService {
   private static final int FIRST_POSITION_INDEX = 0;
   private static final String VALUE_KEY = "value";
   private static final String ENABLED_KEY = "enabled";
+  private static final int MAX_CACHED_TENANTS = 1000;
+
+  private static final ExpiringAsyncCache<TenantScopedKey, Boolean> ECS_TLR_FEATURE_CACHE =
+    ModuleMetrics.bindCache(new ExpiringAsyncCache<>("ecs-tlr-feature",
+      ModuleConfiguration.getLong("ECS_TLR_SETTINGS_CACHE_TTL_SECONDS", 60),
+      TimeUnit.SECONDS, MAX_CACHED_TENANTS));
 
   public CompletableFuture<Boolean> isEcsTlrFeatureEnabled(VertxOkapiHttpClient httpClient,
     Map<String, String> okapiHeaders) {
 
-    logger.info("isEcsTlrFeatureEnabled:: fetching ECS request settings from /tlr/settings");
+    return ECS_TLR_FEATURE_CACHE.get(TenantScopedKey.of(okapiHeaders),
+      () -> fetchEcsTlrFeatureEnabled(httpClient, okapiHeaders));
+  }
+
+  public static ExpiringAsyncCache<TenantScopedKey, Boolean> getCache() {
+    return ECS_TLR_FEATURE_CACHE;
+  }
+
+  private CompletableFuture<Boolean> fetchEcsTlrFeatureEnabled(VertxOkapiHttpClient httpClient,
+    Map<String, String> okapiHeaders) {
+
+    logger.info("fetchEcsTlrFeatureEnabled:: fetching ECS request settings from /tlr/settings");
     return httpClient.get(ECS_TLR_SETTINGS_URL_PATH, okapiHeaders)
       .thenApply(ResponseInterpreter::verifyAndExtractBody)
       .exceptionally(this::handleEcsTlrSettingsFetchingError)
@@ -0,0 +1,70 @@
+package org.folio.rest.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.persist.Criteria.Criteria;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+
+/**
+ * Helpers for the records the module stores for a limited time, each with an
+ * {@code expiresAt} property in milliseconds since the epoch
+ */
+final class ExpiringRecords {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final long CLEANUP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final Map<String, Long> LAST_CLEANUP = new ConcurrentHashMap<>();
+
+  private ExpiringRecords() {
+  }
+
+  /**
+   * Deletes the expired records of the table of the tenant, at most once a minute
+   */
+  static void deleteExpired(PostgresClient postgresClient, String table, String tenantId,
+    long now) {
+
+    final var cleanupKey = tenantId + "/" + table;
+    final var last = LAST_CLEANUP.get(cleanupKey);
+
+    if (last != null && now - last < CLEANUP_INTERVAL_MILLIS) {
+      return;
+    }
+    LAST_CLEANUP.put(cleanupKey, now);
+
+    final var expired = new Criterion(new Criteria()
+      .addField("'expiresAt'")
+      .setOperation("<")
+      .setVal(String.valueOf(now)));
+
+    postgresClient.delete(table, expired)
+      .onSuccess(rows -> logger.info("deleteExpired:: deleted {} expired records of {} of tenant {}",
+        rows.rowCount(), table, tenantId))
+      .onFailure(e -> logger.warn("deleteExpired:: cannot delete expired records of {} of tenant {}",
+        table, tenantId, e));
+  }
+
+  static <T> CompletableFuture<T> toCompletableFuture(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture();
+  }
+
+  /**
+   * @return the failure a {@link CompletionException} wraps, or the throwable itself
+   */
+  static Throwable causeOf(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null
+      ? throwable.getCause()
+      : throwable;
+  }
+}
@@ -28,13 +28,12 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 
 import org.folio.patron.rest.exceptions.ValidationException;
+import org.folio.patron.utils.IsoTimestamps;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.Hold;
 import org.folio.rest.jaxrs.model.Item;
 import org.folio.rest.jaxrs.model.Parameter;
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 
 import io.vertx.core.json.JsonObject;
 
@@ -84,10 +83,10 @@ class HoldHelpers {
       .withItem(item)
       .withExpirationDate(holdJson.getString(JSON_FIELD_REQUEST_EXPIRATION_DATE) == null
         ? null
-        : new DateTime(holdJson.getString(JSON_FIELD_REQUEST_EXPIRATION_DATE), DateTimeZone.UTC).toDate())
+        : IsoTimestamps.toDate(holdJson.getString(JSON_FIELD_REQUEST_EXPIRATION_DATE)))
       .withRequestId(holdJson.getString("id"))
       .withPickupLocationId(holdJson.getString(JSON_FIELD_PICKUP_SERVICE_POINT_ID))
-      .withRequestDate(new DateTime(holdJson.getString(JSON_FIELD_REQUEST_DATE), DateTimeZone.UTC).toDate())
+      .withRequestDate(IsoTimestamps.toDate(holdJson.getString(JSON_FIELD_REQUEST_DATE)))
       .withQueuePosition(holdJson.getInteger(JSON_FIELD_POSITION))
       .withStatus(Hold.Status.fromValue(status))
       .withCancellationAdditionalInformation(holdJson.getString(
@@ -98,7 +97,7 @@ class HoldHelpers {
 
     String canceledationDate = holdJson.getString(JSON_FIELD_CANCELLATION_DATE);
     if (canceledationDate != null && !canceledationDate.isEmpty()) {
-      hold.withCanceledDate(new DateTime(canceledationDate, DateTimeZone.UTC).toDate());
+      hold.withCanceledDate(IsoTimestamps.toDate(canceledationDate));
     }
     return hold;
   }
@@ -0,0 +1,236 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.impl.ExpiringRecords.causeOf;
+import static org.folio.rest.impl.ExpiringRecords.toCompletableFuture;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.FanOutLimiter;
+import org.folio.metrics.ModuleMetrics;
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.Hold;
+import org.folio.rest.jaxrs.model.HoldJob;
+import org.folio.rest.persist.Criteria.Criteria;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.tools.utils.TenantTool;
+
+/**
+ * Places holds in the background, so that the client does not wait for
+ * circulation to create the request. Each hold job is stored in the
+ * {@value #HOLD_JOB_TABLE} table, where its status and outcome can be looked up.
+ * <p>
+ * The jobs are placed by a bounded number of workers of the module instance they
+ * are submitted to, the tenants taking turns when jobs are waiting. A tenant can
+ * only have a bounded number of jobs waiting, the jobs beyond that are rejected.
+ * The jobs are placed with the token of the patron request, which is not stored,
+ * so a job left unfinished by a stopped instance is failed once it times out.
+ * Each change of status is made only from the status expected, so a job failed
+ * for timing out is never placed afterwards.
+ */
+class HoldJobService {
+
+  static final String HOLD_JOB_TABLE = "hold_job";
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final int WORKERS = ModuleConfiguration.getInt("PATRON_HOLD_JOB_WORKERS", 10);
+  private static final FanOutLimiter HOLD_JOB_WORKERS =
+    ModuleMetrics.bindFanOutLimiter(new FanOutLimiter("hold-jobs", WORKERS, WORKERS,
+      ModuleConfiguration.getInt("PATRON_HOLD_JOB_MAX_WAITING_PER_TENANT", 100)));
+  private static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(
+    ModuleConfiguration.getLong("PATRON_HOLD_JOB_TTL_SECONDS", 86_400));
+  private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(
+    ModuleConfiguration.getLong("PATRON_HOLD_JOB_TIMEOUT_SECONDS", 300));
+  private static final String TIMED_OUT_MESSAGE =
+    "The hold job was not finished in time, submit the hold again";
+
+  private final PostgresClient postgresClient;
+  private final Map<String, String> okapiHeaders;
+
+  HoldJobService(PostgresClient postgresClient, Map<String, String> okapiHeaders) {
+    this.postgresClient = postgresClient;
+    this.okapiHeaders = okapiHeaders;
+  }
+
+  /**
+   * @param job the hold submitted, with the requester and the item or instance
+   * @param holdPlacer places the hold, a 201 response carries the hold placed
+   * @return the pending job, once stored, or a {@link RejectedExecutionException}
+   * when the tenant has too many jobs waiting
+   */
+  CompletableFuture<HoldJob> submit(HoldJob job, Supplier<CompletableFuture<Response>> holdPlacer) {
+    final var tenantId = TenantTool.tenantId(okapiHeaders);
+
+    if (!HOLD_JOB_WORKERS.hasRoomFor(tenantId)) {
+      logger.warn("submit:: too many hold jobs of tenant {} are waiting", tenantId);
+      return CompletableFuture.failedFuture(new RejectedExecutionException(
+        "Too many hold jobs are waiting, retry later"));
+    }
+
+    final var now = new Date();
+
+    job.withId(UUID.randomUUID().toString())
+      .withStatus(HoldJob.Status.PENDING)
+      .withSubmittedDate(now)
+      .withUpdatedDate(now)
+      .withExpiresAt(now.getTime() + TTL_MILLIS);
+
+    return toCompletableFuture(postgresClient.save(HOLD_JOB_TABLE, job.getId(), job))
+      .thenApply(notUsed -> {
+        logger.info("submit:: hold job {} of requester {} is pending", job.getId(), job.getRequesterId());
+        HOLD_JOB_WORKERS.forRequest(tenantId)
+          .submit(() -> run(job, holdPlacer))
+          .whenComplete((notUsedAgain, throwable) -> {
+            // only the jobs submitted at the same time as the last ones with room are rejected
+            if (causeOf(throwable) instanceof RejectedExecutionException rejected) {
+              updateIf(HoldJob.Status.PENDING, updated(job, HoldJob.Status.FAILED)
+                .withErrorStatusCode(503)
+                .withErrorMessage(rejected.getMessage()));
+            }
+          });
+        return job;
+      });
+  }
+
+  /**
+   * A job that timed out is failed, unless it changed in the meantime
+   *
+   * @return the job, null when there is no job with the id
+   */
+  CompletableFuture<HoldJob> get(String holdJobId) {
+    return getById(holdJobId)
+      .thenCompose(job -> {
+        if (job == null || !isTimedOut(job)) {
+          return CompletableFuture.completedFuture(job);
+        }
+
+        final var timedOut = timedOut(job);
+        return updateIf(job.getStatus(), timedOut)
+          .thenCompose(updated -> updated
+            ? CompletableFuture.completedFuture(timedOut)
+            : getById(holdJobId));
+      });
+  }
+
+  private CompletableFuture<Void> run(HoldJob job, Supplier<CompletableFuture<Response>> holdPlacer) {
+    final CompletableFuture<Boolean> started;
+
+    if (isTimedOut(job)) {
+      logger.warn("run:: hold job {} waited too long, it is not placed", job.getId());
+      started = updateIf(HoldJob.Status.PENDING, timedOut(job))
+        .thenApply(notUsed -> false);
+    } else {
+      started = updateIf(HoldJob.Status.PENDING, updated(job, HoldJob.Status.IN_PROGRESS));
+    }
+
+    return started
+      .thenCompose(isStarted -> isStarted
+        ? place(job, holdPlacer)
+        : CompletableFuture.<Void>completedFuture(null))
+      .exceptionally(throwable -> {
+        logger.warn("run:: cannot update hold job {}", job.getId(), throwable);
+        return null;
+      });
+  }
+
+  private CompletableFuture<Void> place(HoldJob job, Supplier<CompletableFuture<Response>> holdPlacer) {
+    return holdPlacer.get()
+      .handle((response, throwable) -> finished(job, response, throwable))
+      .thenCompose(finished -> updateIf(HoldJob.Status.IN_PROGRESS, finished))
+      .thenAccept(updated -> {
+        if (!updated) {
+          logger.warn("place:: hold job {} timed out while it was placed, its outcome is lost",
+            job.getId());
+        }
+        ExpiringRecords.deleteExpired(postgresClient, HOLD_JOB_TABLE,
+          TenantTool.tenantId(okapiHeaders), System.currentTimeMillis());
+      });
+  }
+
+  private HoldJob finished(HoldJob job, Response response, Throwable throwable) {
+    if (throwable != null) {
+      final var cause = causeOf(throwable);
+
+      logger.warn("finished:: hold job {} failed", job.getId(), cause);
+      return updated(job, HoldJob.Status.FAILED)
+        .withErrorStatusCode(500)
+        .withErrorMessage(cause.getMessage());
+    }
+
+    if (response.getStatus() == 201 && response.getEntity() instanceof Hold hold) {
+      logger.info("finished:: hold job {} is completed", job.getId());
+      return updated(job, HoldJob.Status.COMPLETED)
+        .withResult(hold);
+    }
+
+    logger.info("finished:: hold job {} failed with status {}", job.getId(), response.getStatus());
+    final var failed = updated(job, HoldJob.Status.FAILED)
+      .withErrorStatusCode(response.getStatus());
+
+    return response.getEntity() instanceof Errors errors
+      ? failed.withErrors(errors)
+      : failed.withErrorMessage(String.valueOf(response.getEntity()));
+  }
+
+  private CompletableFuture<HoldJob> getById(String holdJobId) {
+    return toCompletableFuture(postgresClient.getById(HOLD_JOB_TABLE, holdJobId, HoldJob.class));
+  }
+
+  /**
+   * Updates the job only while it still has the status expected
+   *
+   * @return whether the job was updated
+   */
+  private CompletableFuture<Boolean> updateIf(HoldJob.Status expected, HoldJob job) {
+    final var filter = new Criterion(new Criteria()
+        .addField("'id'")
+        .setOperation("=")
+        .setVal(job.getId()))
+      .addCriterion(new Criteria()
+        .addField("'status'")
+        .setOperation("=")
+        .setVal(expected.value()));
+
+    return toCompletableFuture(postgresClient.update(HOLD_JOB_TABLE, job, filter, false))
+      .thenApply(rows -> rows.rowCount() > 0);
+  }
+
+  private static boolean isTimedOut(HoldJob job) {
+    return (job.getStatus() == HoldJob.Status.PENDING || job.getStatus() == HoldJob.Status.IN_PROGRESS)
+      && System.currentTimeMillis() - job.getUpdatedDate().getTime() > TIMEOUT_MILLIS;
+  }
+
+  private static HoldJob timedOut(HoldJob job) {
+    return updated(job, HoldJob.Status.FAILED)
+      .withErrorMessage(TIMED_OUT_MESSAGE);
+  }
+
+  /**
+   * The job submitted is answered to the client while it runs, so each change of
+   * status is a new record
+   */
+  private static HoldJob updated(HoldJob job, HoldJob.Status status) {
+    return new HoldJob()
+      .withId(job.getId())
+      .withRequesterId(job.getRequesterId())
+      .withItemId(job.getItemId())
+      .withInstanceId(job.getInstanceId())
+      .withHold(job.getHold())
+      .withSubmittedDate(job.getSubmittedDate())
+      .withExpiresAt(job.getExpiresAt())
+      .withStatus(status)
+      .withUpdatedDate(new Date());
+  }
+}
@@ -4,6 +4,7 @@ import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.folio.rest.impl.Constants.JSON_FIELD_ID;
 import static org.folio.rest.impl.Constants.JSON_FIELD_ITEM_ID;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -20,9 +21,11 @@ import io.vertx.core.json.JsonObject;
 
 public class HoldingsRecordRepository {
   private final VertxOkapiHttpClient client;
+  private final BatchRecordFetcher batchRecordFetcher;
 
   public HoldingsRecordRepository(VertxOkapiHttpClient client) {
     this.client = client;
+    this.batchRecordFetcher = new BatchRecordFetcher(client);
   }
 
   public CompletableFuture<JsonObject> getHoldingsRecord(JsonObject item,
@@ -41,4 +44,11 @@ public class HoldingsRecordRepository {
     return client.get("/holdings-storage/holdings/" + holdingsRecordId, Map.of(), okapiHeaders)
       .thenApply(ResponseInterpreter::verifyAndExtractBody);
   }
+
+  public CompletableFuture<Map<String, JsonObject>> getHoldingsRecords(
+    Collection<String> holdingsRecordIds, Map<String, String> okapiHeaders) {
+
+    return batchRecordFetcher.fetchByIds("/holdings-storage/holdings", "holdingsRecords",
+      holdingsRecordIds, okapiHeaders);
+  }
 }
@@ -0,0 +1,340 @@
+package org.folio.rest.impl;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.rest.impl.ExpiringRecords.toCompletableFuture;
+import static org.folio.rest.jaxrs.resource.Patron.PostPatronAccountItemHoldByIdAndItemIdResponse.respond201WithApplicationJson;
+import static org.folio.rest.jaxrs.resource.Patron.PostPatronAccountItemHoldByIdAndItemIdResponse.respond409WithTextPlain;
+import static org.folio.rest.jaxrs.resource.Patron.PostPatronAccountItemHoldByIdAndItemIdResponse.respond422WithApplicationJson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cache.TenantScopedKey;
+import org.folio.config.ModuleConfiguration;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.Hold;
+import org.folio.rest.jaxrs.model.IdempotentHold;
+import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.rest.persist.Criteria.Criteria;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.rest.persist.PgExceptionUtil;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Future;
+
+/**
+ * Places a hold at most once for each Idempotency-Key of a patron, so that a client
+ * retrying a hold placement that timed out does not create another request.
+ * <p>
+ * A hold is claimed in the {@value #IDEMPOTENT_HOLD_TABLE} table before it is
+ * placed, and the hold returned to the client is kept there once placed. A retry
+ * gets the kept hold back. A retry arriving while the hold is still being placed
+ * waits for it when it reaches the same instance, and gets a conflict otherwise.
+ * When the hold is rejected with a 4xx response, the claim is dropped so that the
+ * client can retry. When placing the hold fails otherwise, e.g. it timed out,
+ * circulation may still have created the request, so the outcome is kept as
+ * unknown and a retry gets a conflict. When the hold placed cannot be kept, the
+ * claim is kept in its place, so that a retry gets a conflict rather than placing
+ * the hold again.
+ */
+class IdempotentHoldService {
+
+  static final String IDEMPOTENT_HOLD_TABLE = "idempotent_hold";
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(
+    ModuleConfiguration.getLong("PATRON_HOLD_IDEMPOTENCY_TTL_SECONDS", 86_400));
+  // Longer than the timeout of the request to circulation, so that only a claim
+  // left behind by a stopped instance expires
+  private static final long IN_PROGRESS_TTL_MILLIS = TimeUnit.SECONDS.toMillis(
+    ModuleConfiguration.getLong("PATRON_HOLD_IDEMPOTENCY_IN_PROGRESS_SECONDS", 120));
+
+  private static final Map<TenantScopedKey, InFlightHold> IN_FLIGHT = new ConcurrentHashMap<>();
+
+  private final PostgresClient postgresClient;
+  private final Map<String, String> okapiHeaders;
+
+  IdempotentHoldService(PostgresClient postgresClient, Map<String, String> okapiHeaders) {
+    this.postgresClient = postgresClient;
+    this.okapiHeaders = okapiHeaders;
+  }
+
+  /**
+   * @param holdPlacer places the hold, a 201 response carries the hold placed
+   * @return the response of placing the hold, or of the first request with the key
+   */
+  CompletableFuture<Response> placeHold(String idempotencyKey, String patronId,
+    String itemId, Supplier<CompletableFuture<Response>> holdPlacer) {
+
+    final var id = recordId(patronId, idempotencyKey);
+    final var inFlightKey = TenantScopedKey.of(okapiHeaders, id);
+    final var inFlight = new InFlightHold(itemId, new CompletableFuture<>());
+    final var running = IN_FLIGHT.putIfAbsent(inFlightKey, inFlight);
+
+    if (running != null) {
+      if (!running.itemId().equals(itemId)) {
+        return completedFuture(keyUsedForAnotherItem(idempotencyKey, itemId));
+      }
+      logger.info("placeHold:: waiting for the hold with Idempotency-Key {} being placed", idempotencyKey);
+      return running.response().copy();
+    }
+
+    placeOnce(id, idempotencyKey, patronId, itemId, holdPlacer)
+      .whenComplete((response, throwable) -> {
+        IN_FLIGHT.remove(inFlightKey, inFlight);
+        if (throwable != null) {
+          inFlight.response().completeExceptionally(throwable);
+        } else {
+          inFlight.response().complete(response);
+        }
+      });
+
+    return inFlight.response().copy();
+  }
+
+  private CompletableFuture<Response> placeOnce(String id, String idempotencyKey,
+    String patronId, String itemId, Supplier<CompletableFuture<Response>> holdPlacer) {
+
+    return toCompletableFuture(postgresClient.getById(IDEMPOTENT_HOLD_TABLE, id, IdempotentHold.class))
+      .handle((existing, throwable) -> {
+        if (throwable != null) {
+          logger.warn("placeHold:: cannot look up Idempotency-Key {}, placing the hold without it",
+            idempotencyKey, throwable);
+          return holdPlacer.get();
+        }
+
+        final long now = System.currentTimeMillis();
+
+        if (existing != null && existing.getExpiresAt() > now) {
+          return completedFuture(answerRetry(existing, itemId));
+        }
+
+        final var claim = new IdempotentHold()
+          .withId(id)
+          .withIdempotencyKey(idempotencyKey)
+          .withPatronId(patronId)
+          .withItemId(itemId)
+          .withStatus(IdempotentHold.Status.IN_PROGRESS)
+          .withExpiresAt(now + IN_PROGRESS_TTL_MILLIS);
+
+        // An expired record is taken over rather than waiting for the cleanup
+        final var claimed = existing == null
+          ? postgresClient.save(IDEMPOTENT_HOLD_TABLE, id, claim).map(notUsed -> true)
+          : takeOver(existing, claim);
+
+        return toCompletableFuture(claimed)
+          .handle((isClaimed, claimFailure) -> {
+            if (claimFailure != null) {
+              return claimFailed(claimFailure, idempotencyKey, holdPlacer);
+            }
+            if (!isClaimed) {
+              logger.info("placeHold:: expired Idempotency-Key {} was taken over by another instance",
+                idempotencyKey);
+              return completedFuture(stillBeingPlaced(idempotencyKey));
+            }
+            return placeClaimed(claim, holdPlacer);
+          })
+          .thenCompose(response -> response);
+      })
+      .thenCompose(response -> response);
+  }
+
+  private CompletableFuture<Response> claimFailed(Throwable claimFailure,
+    String idempotencyKey, Supplier<CompletableFuture<Response>> holdPlacer) {
+
+    if (PgExceptionUtil.isUniqueViolation(claimFailure)) {
+      logger.info("placeHold:: hold with Idempotency-Key {} is being placed by another instance",
+        idempotencyKey);
+      return completedFuture(stillBeingPlaced(idempotencyKey));
+    }
+
+    logger.warn("placeHold:: cannot claim Idempotency-Key {}, placing the hold without it",
+      idempotencyKey, claimFailure);
+    return holdPlacer.get();
+  }
+
+  /**
+   * The outcome is recorded before the response is returned, so that a retry of the
+   * client finds the outcome rather than the claim
+   */
+  private CompletableFuture<Response> placeClaimed(IdempotentHold claim,
+    Supplier<CompletableFuture<Response>> holdPlacer) {
+
+    return holdPlacer.get()
+      .handle((response, throwable) -> {
+        final Future<Void> recorded;
+        if (throwable == null && response.getStatus() == 201
+          && response.getEntity() instanceof Hold hold) {
+          recorded = keep(claim, hold);
+        } else if (throwable == null && isRejected(response)) {
+          recorded = release(claim);
+        } else {
+          recorded = keepUnknown(claim);
+        }
+
+        return toCompletableFuture(recorded.otherwiseEmpty())
+          .thenCompose(notUsed -> throwable == null
+            ? completedFuture(response)
+            : CompletableFuture.<Response>failedFuture(throwable));
+      })
+      .thenCompose(response -> response);
+  }
+
+  private Response answerRetry(IdempotentHold existing, String itemId) {
+    if (!existing.getItemId().equals(itemId)) {
+      return keyUsedForAnotherItem(existing.getIdempotencyKey(), itemId);
+    }
+
+    if (existing.getStatus() == IdempotentHold.Status.COMPLETED) {
+      logger.info("placeHold:: returning the hold placed with Idempotency-Key {}",
+        existing.getIdempotencyKey());
+      return respond201WithApplicationJson(existing.getHold());
+    }
+
+    if (existing.getStatus() == IdempotentHold.Status.UNKNOWN) {
+      return respond409WithTextPlain("The hold with Idempotency-Key " + existing.getIdempotencyKey()
+        + " may have been placed, check the holds of the patron before placing it with another key");
+    }
+
+    return stillBeingPlaced(existing.getIdempotencyKey());
+  }
+
+  /**
+   * Replaces the expired record only while it is unchanged, each write changing when
+   * it expires, so that only one of the instances retried at once takes it over
+   *
+   * @return whether the record was taken over
+   */
+  private Future<Boolean> takeOver(IdempotentHold expired, IdempotentHold claim) {
+    final var unchanged = new Criterion(new Criteria()
+        .addField("'id'")
+        .setOperation("=")
+        .setVal(expired.getId()))
+      .addCriterion(new Criteria()
+        .addField("'status'")
+        .setOperation("=")
+        .setVal(expired.getStatus().value()))
+      .addCriterion(new Criteria()
+        .addField("'expiresAt'")
+        .setOperation("=")
+        .setVal(String.valueOf(expired.getExpiresAt())));
+
+    return postgresClient.update(IDEMPOTENT_HOLD_TABLE, claim, unchanged, false)
+      .map(rows -> rows.rowCount() > 0);
+  }
+
+  /**
+   * Keeps the hold placed, trying twice. When it cannot be kept, the claim is kept
+   * for as long as the hold would have been, so that a retry of the client gets a
+   * conflict rather than placing the hold again
+   */
+  private Future<Void> keep(IdempotentHold claim, Hold hold) {
+    final long now = System.currentTimeMillis();
+
+    final var kept = new IdempotentHold()
+      .withId(claim.getId())
+      .withIdempotencyKey(claim.getIdempotencyKey())
+      .withPatronId(claim.getPatronId())
+      .withItemId(claim.getItemId())
+      .withStatus(IdempotentHold.Status.COMPLETED)
+      .withHold(hold)
+      .withExpiresAt(now + TTL_MILLIS);
+
+    return postgresClient.upsert(IDEMPOTENT_HOLD_TABLE, kept.getId(), kept)
+      .recover(e -> {
+        logger.warn("keep:: cannot keep the hold placed with Idempotency-Key {}, trying again",
+          claim.getIdempotencyKey(), e);
+        return postgresClient.upsert(IDEMPOTENT_HOLD_TABLE, kept.getId(), kept);
+      })
+      .onSuccess(notUsed -> ExpiringRecords.deleteExpired(postgresClient, IDEMPOTENT_HOLD_TABLE,
+        TenantTool.tenantId(okapiHeaders), now))
+      .recover(e -> {
+        logger.warn("keep:: cannot keep the hold placed with Idempotency-Key {}, keeping its claim",
+          claim.getIdempotencyKey(), e);
+        return postgresClient.upsert(IDEMPOTENT_HOLD_TABLE, claim.getId(),
+          claim.withExpiresAt(now + TTL_MILLIS));
+      })
+      .onFailure(e -> logger.error("keep:: cannot keep the claim of Idempotency-Key {}, "
+        + "a retry after it expires places the hold again", claim.getIdempotencyKey(), e))
+      .mapEmpty();
+  }
+
+  /**
+   * Keeps the claim as unknown for as long as a hold placed would have been kept
+   */
+  private Future<Void> keepUnknown(IdempotentHold claim) {
+    logger.warn("keepUnknown:: hold with Idempotency-Key {} may have been placed, "
+      + "retries get a conflict", claim.getIdempotencyKey());
+
+    final var unknown = new IdempotentHold()
+      .withId(claim.getId())
+      .withIdempotencyKey(claim.getIdempotencyKey())
+      .withPatronId(claim.getPatronId())
+      .withItemId(claim.getItemId())
+      .withStatus(IdempotentHold.Status.UNKNOWN)
+      .withExpiresAt(System.currentTimeMillis() + TTL_MILLIS);
+
+    return postgresClient.upsert(IDEMPOTENT_HOLD_TABLE, unknown.getId(), unknown)
+      .onFailure(e -> logger.warn("keepUnknown:: cannot keep the outcome of Idempotency-Key {}, "
+        + "its claim expires as it is", claim.getIdempotencyKey(), e))
+      .mapEmpty();
+  }
+
+  /**
+   * A 4xx response tells that circulation, or the module before it, did not
+   * create the request
+   */
+  private static boolean isRejected(Response response) {
+    return response.getStatus() >= 400 && response.getStatus() < 500;
+  }
+
+  private Future<Void> release(IdempotentHold claim) {
+    return postgresClient.delete(IDEMPOTENT_HOLD_TABLE, claim.getId())
+      .onFailure(e -> logger.warn("release:: cannot release Idempotency-Key {}",
+        claim.getIdempotencyKey(), e))
+      .mapEmpty();
+  }
+
+  private static Response stillBeingPlaced(String idempotencyKey) {
+    return respond409WithTextPlain("A hold with Idempotency-Key " + idempotencyKey
+      + " is still being placed, retry later");
+  }
+
+  private static Response keyUsedForAnotherItem(String idempotencyKey, String itemId) {
+    final Errors errors = new Errors()
+      .withErrors(Collections.singletonList(
+        new Error()
+          .withMessage("Idempotency-Key " + idempotencyKey + " was used for a hold on another item")
+          .withCode("IDEMPOTENCY_KEY_REUSED")
+          .withParameters(Collections.singletonList(
+            new Parameter().withKey("itemId")
+              .withValue(itemId)
+          ))
+      ));
+
+    return respond422WithApplicationJson(errors);
+  }
+
+  /**
+   * The keys are chosen by clients, so they are scoped to the patron
+   */
+  static String recordId(String patronId, String idempotencyKey) {
+    return UUID.nameUUIDFromBytes((patronId + ":" + idempotencyKey)
+      .getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  private record InFlightHold(String itemId, CompletableFuture<Response> response) { }
+}
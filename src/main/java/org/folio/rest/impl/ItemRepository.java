@@ -3,7 +3,9 @@ package org.folio.rest.impl;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.rest.impl.Constants.JSON_FIELD_ITEM_ID;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -25,10 +27,13 @@ public class ItemRepository {
   private static final Logger log = LogManager.getLogger();
   private static final String INVENTORY_ITEMS_URL = "/inventory/items/";
   private static final String CIRCULATION_ITEMS_URL = "/circulation-item/";
+  private static final String INVENTORY_ITEMS_COLLECTION_URL = "/inventory/items";
   private final VertxOkapiHttpClient client;
+  private final BatchRecordFetcher batchRecordFetcher;
 
   public ItemRepository(VertxOkapiHttpClient client) {
     this.client = client;
+    this.batchRecordFetcher = new BatchRecordFetcher(client);
   }
 
   public CompletableFuture<JsonObject> getItem(String itemId,
@@ -56,6 +61,49 @@ public class ItemRepository {
       .thenApply(ResponseInterpreter::verifyAndExtractBodyNoThrow);
   }
 
+  /**
+   * Looks the items up in inventory with batched queries, items missing there
+   * are looked up as circulation items one by one.
+   *
+   * @return items found, by id. Ids of items that were not found are absent from the map
+   */
+  public CompletableFuture<Map<String, JsonObject>> getItemsNoThrow(Collection<String> itemIds,
+    Map<String, String> okapiHeaders) {
+
+    return batchRecordFetcher.fetchByIdsNoThrow(INVENTORY_ITEMS_COLLECTION_URL, "items", itemIds, okapiHeaders)
+      .thenCompose(inventoryItems -> {
+        final Map<String, CompletableFuture<JsonObject>> circulationItems = new HashMap<>();
+        itemIds.stream()
+          .filter(itemId -> !inventoryItems.containsKey(itemId))
+          .distinct()
+          .forEach(itemId -> circulationItems.put(itemId, getCirculationItemNoThrow(itemId, okapiHeaders)));
+
+        if (circulationItems.isEmpty()) {
+          return completedFuture(inventoryItems);
+        }
+        log.info("getItemsNoThrow:: {} items were not found in inventory, looking for circulation items",
+          circulationItems.size());
+
+        return CompletableFuture.allOf(circulationItems.values().toArray(new CompletableFuture[0]))
+          .thenApply(notUsed -> {
+            final Map<String, JsonObject> items = new HashMap<>(inventoryItems);
+            circulationItems.forEach((itemId, item) -> {
+              if (item.join() != null) {
+                items.put(itemId, item.join());
+              }
+            });
+            return items;
+          });
+      });
+  }
+
+  private CompletableFuture<JsonObject> getCirculationItemNoThrow(String itemId,
+    Map<String, String> okapiHeaders) {
+
+    return client.get(CIRCULATION_ITEMS_URL + itemId, Map.of(), okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBodyNoThrow);
+  }
+
   private CompletableFuture<Response> findItem(String itemId, Map<String, String> okapiHeaders) {
     return client.get(INVENTORY_ITEMS_URL + itemId, Map.of(), okapiHeaders)
       .thenCompose(response -> {
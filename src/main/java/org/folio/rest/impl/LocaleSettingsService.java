@@ -0,0 +1,52 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.impl.UrlPath.LOCALE_URL_PATH;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cache.ExpiringAsyncCache;
+import org.folio.cache.TenantScopedKey;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.ResponseInterpreter;
+import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.metrics.ModuleMetrics;
+
+public class LocaleSettingsService {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String CURRENCY_KEY = "currency";
+  static final String DEFAULT_CURRENCY = "USD";
+  private static final int MAX_CACHED_TENANTS = 1000;
+
+  private static final ExpiringAsyncCache<TenantScopedKey, String> CURRENCY_CODE_CACHE =
+    ModuleMetrics.bindCache(new ExpiringAsyncCache<>("currency-code",
+      ModuleConfiguration.getLong("LOCALE_SETTINGS_CACHE_TTL_SECONDS", 300),
+      TimeUnit.SECONDS, MAX_CACHED_TENANTS));
+
+  public CompletableFuture<String> getCurrencyCode(VertxOkapiHttpClient httpClient,
+    Map<String, String> okapiHeaders) {
+
+    return CURRENCY_CODE_CACHE.get(TenantScopedKey.of(okapiHeaders),
+      () -> fetchCurrencyCode(httpClient, okapiHeaders));
+  }
+
+  public static ExpiringAsyncCache<TenantScopedKey, String> getCache() {
+    return CURRENCY_CODE_CACHE;
+  }
+
+  private CompletableFuture<String> fetchCurrencyCode(VertxOkapiHttpClient httpClient,
+    Map<String, String> okapiHeaders) {
+
+    logger.info("fetchCurrencyCode:: fetching tenant locale from {}", LOCALE_URL_PATH);
+    return httpClient.get(LOCALE_URL_PATH, okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBody)
+      .thenApply(response -> Optional.ofNullable(response)
+        .map(json -> json.getString(CURRENCY_KEY))
+        .orElse(DEFAULT_CURRENCY));
+  }
+}
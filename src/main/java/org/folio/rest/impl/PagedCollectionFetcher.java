@@ -0,0 +1,183 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.impl.Constants.JSON_FIELD_TOTAL_RECORDS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.integration.http.Response;
+import org.folio.integration.http.ResponseInterpreter;
+import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.patron.rest.models.PagedCollection;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Fetches all the records of a collection in pages of a fixed size instead of
+ * asking the module for every record in one response. The first page tells how
+ * many records there are, the other pages are then fetched with a limited number
+ * of requests in flight and merged in order. At most {@code maxRecords} records
+ * are fetched, the total number of records in the result stays the one reported
+ * by the module. The records are sorted by id after the sort asked for, so that
+ * records sorting the same are not repeated or missed across the pages.
+ */
+public class PagedCollectionFetcher {
+  private static final Logger logger = LogManager.getLogger();
+  private static final String LIMIT = "limit";
+  private static final String OFFSET = "offset";
+  private static final String QUERY = "query";
+  private static final String SORT_BY = " sortBy ";
+  private static final String ID = "id";
+
+  private final VertxOkapiHttpClient client;
+  private final int pageSize;
+  private final int maxConcurrentPages;
+  private final int maxRecords;
+
+  public PagedCollectionFetcher(VertxOkapiHttpClient client, int pageSize,
+    int maxConcurrentPages, int maxRecords) {
+
+    this.client = client;
+    this.pageSize = Math.max(1, pageSize);
+    this.maxConcurrentPages = Math.max(1, maxConcurrentPages);
+    this.maxRecords = Math.max(0, maxRecords);
+  }
+
+  /**
+   * @param queryParameters query of the collection, the limit and offset are
+   * replaced by those of each page, the query is sorted by id last
+   * @return the body of the first page with the records of all the pages
+   */
+  public CompletableFuture<JsonObject> fetchAll(String path, String collectionName,
+    Map<String, String> queryParameters, Map<String, String> okapiHeaders) {
+
+    return fetchAll(collectionName, pageLoader(path, queryParameters, okapiHeaders,
+      ResponseInterpreter::verifyAndExtractBody));
+  }
+
+  /**
+   * Same as {@link #fetchAll(String, String, Map, Map)}, but decodes every page
+   * straight to the type and merges the typed pages instead of JSON trees
+   */
+  public <T extends PagedCollection<T>> CompletableFuture<T> fetchAll(String path,
+    String collectionName, Class<T> type, Map<String, String> queryParameters,
+    Map<String, String> okapiHeaders) {
+
+    return fetchAll(collectionName, pageLoader(path, queryParameters, okapiHeaders,
+        response -> ResponseInterpreter.verifyAndExtractBodyAs(response, type)),
+      PagedCollection::totalRecords, PagedCollection::withPages);
+  }
+
+  private <T> PageLoader<T> pageLoader(String path, Map<String, String> queryParameters,
+    Map<String, String> okapiHeaders, Function<Response, T> decoder) {
+
+    return (offset, limit) -> {
+      final Map<String, String> pageParameters = new HashMap<>(queryParameters);
+      pageParameters.computeIfPresent(QUERY, (notUsed, query) -> withStableOrder(query));
+      pageParameters.put(LIMIT, String.valueOf(limit));
+      pageParameters.put(OFFSET, String.valueOf(offset));
+
+      return client.get(path, pageParameters, okapiHeaders)
+        .thenApply(decoder);
+    };
+  }
+
+  CompletableFuture<JsonObject> fetchAll(String collectionName, PageLoader<JsonObject> pageLoader) {
+    return fetchAll(collectionName, pageLoader,
+      body -> body.getInteger(JSON_FIELD_TOTAL_RECORDS, 0),
+      (firstPage, pages) -> {
+        final JsonArray records = firstPage.getJsonArray(collectionName, new JsonArray());
+        for (JsonObject page : pages) {
+          records.addAll(page.getJsonArray(collectionName, new JsonArray()));
+        }
+        return firstPage.put(collectionName, records);
+      });
+  }
+
+  <T> CompletableFuture<T> fetchAll(String collectionName, PageLoader<T> pageLoader,
+    ToIntFunction<T> totalRecordsOf, BiFunction<T, List<T>, T> merge) {
+
+    return pageLoader.load(0, Math.min(pageSize, maxRecords))
+      .thenCompose(firstPage -> {
+        final int totalRecords = totalRecordsOf.applyAsInt(firstPage);
+        final int recordsToFetch = Math.min(totalRecords, maxRecords);
+
+        if (totalRecords > maxRecords) {
+          logger.warn("fetchAll:: {} has {} records, only the first {} are fetched",
+            collectionName, totalRecords, maxRecords);
+        }
+        if (recordsToFetch <= pageSize) {
+          return CompletableFuture.completedFuture(firstPage);
+        }
+
+        final List<Integer> offsets = new ArrayList<>();
+        for (int offset = pageSize; offset < recordsToFetch; offset += pageSize) {
+          offsets.add(offset);
+        }
+        logger.info("fetchAll:: fetching {} more pages of {} with up to {} in flight",
+          offsets.size(), collectionName, maxConcurrentPages);
+
+        final List<T> pages = new ArrayList<>(offsets.size());
+        offsets.forEach(notUsed -> pages.add(null));
+        final AtomicInteger nextPage = new AtomicInteger();
+        final List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxConcurrentPages, offsets.size()); i++) {
+          workers.add(fetchRemainingPages(pageLoader, offsets, recordsToFetch, nextPage, pages));
+        }
+
+        return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0]))
+          .thenApply(notUsed -> merge.apply(firstPage, pages));
+      });
+  }
+
+  /**
+   * Fetches the next page nobody has claimed yet, until there are none left
+   */
+  private <T> CompletableFuture<Void> fetchRemainingPages(PageLoader<T> pageLoader,
+    List<Integer> offsets, int recordsToFetch, AtomicInteger nextPage, List<T> pages) {
+
+    final int page = nextPage.getAndIncrement();
+    if (page >= offsets.size()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final int offset = offsets.get(page);
+    return pageLoader.load(offset, Math.min(pageSize, recordsToFetch - offset))
+      .thenCompose(body -> {
+        pages.set(page, body);
+        return fetchRemainingPages(pageLoader, offsets, recordsToFetch, nextPage, pages);
+      });
+  }
+
+  /**
+   * @return the CQL query sorted by id after its own sort keys, unless id is one of them
+   */
+  static String withStableOrder(String query) {
+    final int sortBy = query.lastIndexOf(SORT_BY);
+    if (sortBy < 0) {
+      return query + SORT_BY + ID;
+    }
+
+    final var sortKeys = query.substring(sortBy + SORT_BY.length()).trim().split("\\s+");
+    final boolean sortedById = Arrays.stream(sortKeys)
+      .anyMatch(sortKey -> sortKey.equals(ID) || sortKey.startsWith(ID + "/"));
+
+    return sortedById ? query : query + " " + ID;
+  }
+
+  @FunctionalInterface
+  interface PageLoader<T> {
+    CompletableFuture<T> load(int offset, int limit);
+  }
+}
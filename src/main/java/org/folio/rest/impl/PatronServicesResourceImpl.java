@@ -2,11 +2,13 @@ package org.folio.rest.impl;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -14,14 +16,21 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.FanOutLimiter;
 import org.folio.integration.http.HttpClientFactory;
 import org.folio.integration.http.ResponseInterpreter;
 import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.metrics.ModuleMetrics;
 import org.folio.patron.rest.exceptions.HttpException;
 import org.folio.patron.rest.exceptions.ModuleGeneratedHttpException;
 import org.folio.patron.rest.exceptions.PatronSettingsException;
 import org.folio.patron.rest.exceptions.ValidationException;
 import org.folio.patron.rest.models.BatchRequestStatus;
+import org.folio.patron.rest.models.FeesFinesCollection;
+import org.folio.patron.rest.models.LoansCollection;
+import org.folio.patron.rest.models.PagedCollection;
+import org.folio.patron.utils.IsoTimestamps;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.AllowedServicePoint;
@@ -35,10 +44,13 @@ import org.folio.rest.jaxrs.model.Charge;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.Hold;
+import org.folio.rest.jaxrs.model.HoldJob;
 import org.folio.rest.jaxrs.model.Item;
 import org.folio.rest.jaxrs.model.ItemIds;
 import org.folio.rest.jaxrs.model.Loan;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.rest.jaxrs.model.SectionStatus;
+import org.folio.rest.jaxrs.model.SectionStatuses;
 import org.folio.rest.jaxrs.model.StagingUser;
 import org.folio.rest.jaxrs.model.TotalCharges;
 import org.folio.rest.jaxrs.resource.Patron;
@@ -46,14 +58,13 @@ import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.service.MediatedRequestsService;
 import org.folio.service.PatronSettingsService;
-import org.folio.util.StringUtil;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 
 import javax.ws.rs.core.Response;
 import java.io.IOException;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -64,13 +75,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.vertx.core.Future.succeededFuture;
 import static java.lang.String.format;
@@ -115,23 +124,54 @@ public class PatronServicesResourceImpl implements Patron {
   private static final Logger logger = LogManager.getLogger();
   private static final String QUERY = "query";
   private static final String CIRCULATION_REQUESTS = "/circulation/requests/%s";
+  private static final String INVENTORY_INSTANCES = "/inventory/instances";
   private static final String USERS_FILED = "users";
   private static final String BAD_REQUEST_CODE = "BAD_REQUEST";
 
-  private static final ExecutorService ITEMS_ALLOWED_SERVICE_POINTS_EXECUTOR = Executors.newFixedThreadPool(4);
+  private static final AccountOptions ACCOUNT_OPTIONS = new AccountOptions(
+    ModuleConfiguration.getBoolean("PATRON_ACCOUNT_PARALLEL_USER_LOOKUP", false),
+    ModuleConfiguration.getBoolean("PATRON_ACCOUNT_PARTIAL_RESULTS", false),
+    ModuleConfiguration.getLong("PATRON_ACCOUNT_SECTION_TIMEOUT_MS", 3000));
+  private static final int ACCOUNT_PAGE_SIZE =
+    ModuleConfiguration.getInt("PATRON_ACCOUNT_PAGE_SIZE", 0);
+  private static final int ACCOUNT_MAX_CONCURRENT_PAGES =
+    ModuleConfiguration.getInt("PATRON_ACCOUNT_MAX_CONCURRENT_PAGES", 4);
+  private static final int ACCOUNT_MAX_RECORDS =
+    ModuleConfiguration.getInt("PATRON_ACCOUNT_MAX_RECORDS", 10_000);
+  private static final boolean GROUP_EQUIVALENT_ITEMS =
+    ModuleConfiguration.getBoolean("PATRON_ALLOWED_SERVICE_POINTS_GROUP_ITEMS", false);
+  private static final FanOutLimiter ALLOWED_SERVICE_POINTS_LIMITER =
+    ModuleMetrics.bindFanOutLimiter(new FanOutLimiter("allowed-service-points",
+      ModuleConfiguration.getInt("PATRON_ALLOWED_SERVICE_POINTS_MAX_CONCURRENT_PER_REQUEST", 10),
+      ModuleConfiguration.getInt("PATRON_ALLOWED_SERVICE_POINTS_MAX_CONCURRENT", 100),
+      ModuleConfiguration.getInt("PATRON_ALLOWED_SERVICE_POINTS_MAX_WAITING_PER_TENANT", 1_000)));
+  private static final String UNLIMITED = String.valueOf(Integer.MAX_VALUE);
+
+  private final AccountOptions accountOptions;
+
+  public PatronServicesResourceImpl() {
+    this(ACCOUNT_OPTIONS);
+  }
+
+  @VisibleForTesting
+  PatronServicesResourceImpl(AccountOptions accountOptions) {
+    this.accountOptions = accountOptions;
+  }
 
   @Override
   public void postPatron(StagingUser entity, Map<String, String> okapiHeaders,
                          Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     logger.info("postPatron:: Trying to create staging user");
     final var stagingUserRepository = new StagingUserRepository(HttpClientFactory.getHttpClient(vertxContext.owner()));
 
     stagingUserRepository.createStagingUser(entity, okapiHeaders)
       .thenCompose(this::handleStagingUserResponse)
-      .thenAccept(response -> asyncResultHandler.handle(Future.succeededFuture(response)))
+      .thenAccept(response -> timedResultHandler.handle(Future.succeededFuture(response)))
       .exceptionally(throwable -> {
         logger.error("postPatron:: Failed to create external patron", throwable);
-        asyncResultHandler.handle(Future.succeededFuture(PostPatronResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
+        timedResultHandler.handle(Future.succeededFuture(PostPatronResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
         return null;
       });
   }
@@ -147,22 +187,22 @@ public class PatronServicesResourceImpl implements Patron {
   private CompletableFuture<Response> handleStagingUserErrorResponse(org.folio.integration.http.Response response) {
     switch (response.statusCode) {
       case 400:
-        return CompletableFuture.completedFuture(PostPatronResponse.respond400WithTextPlain(response.body));
+        return CompletableFuture.completedFuture(PostPatronResponse.respond400WithTextPlain(response.getBody()));
       case 404:
         return CompletableFuture.completedFuture(PutPatronByExternalSystemIdResponse.respond404WithApplicationJson(createError(STAGING_USER_NOT_FOUND.value(), STAGING_USER_NOT_FOUND.name())));
       case 422:
-        Errors errors = Json.decodeValue(response.body, Errors.class);
+        Errors errors = response.getBodyAs(Errors.class);
         return CompletableFuture.completedFuture(PostPatronResponse.respond422WithApplicationJson(errors));
       case 405:
-        return CompletableFuture.completedFuture(PutPatronByExternalSystemIdResponse.respond405WithTextPlain(response.body));
+        return CompletableFuture.completedFuture(PutPatronByExternalSystemIdResponse.respond405WithTextPlain(response.getBody()));
       case 500:
       default:
-        return CompletableFuture.completedFuture(PostPatronResponse.respond500WithTextPlain(response.body));
+        return CompletableFuture.completedFuture(PostPatronResponse.respond500WithTextPlain(response.getBody()));
     }
   }
 
   private CompletableFuture<Response> handleStagingUserSuccessResponse(org.folio.integration.http.Response response) {
-    StagingUser stagingUser = Json.decodeValue(response.body, StagingUser.class);
+    StagingUser stagingUser = response.getBodyAs(StagingUser.class);
     if (response.statusCode == 201) {
       return CompletableFuture.completedFuture(PostPatronResponse.respond201WithApplicationJson(stagingUser));
     }
@@ -170,7 +210,7 @@ public class PatronServicesResourceImpl implements Patron {
       return CompletableFuture.completedFuture(PutPatronByExternalSystemIdResponse.respond200WithApplicationJson(stagingUser));
     }
       return CompletableFuture.completedFuture(
-        Response.status(response.statusCode).entity(response.body).build()
+        Response.status(response.statusCode).entity(response.getBody()).build()
       );
     }
 
@@ -180,15 +220,17 @@ public class PatronServicesResourceImpl implements Patron {
                                           StagingUser entity,
                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
                                           Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     logger.info("putPatronByExternalSystemId:: Trying to update staging user");
     final var stagingUserRepository = new StagingUserRepository(HttpClientFactory.getHttpClient(vertxContext.owner()));
 
     stagingUserRepository.updateStagingUser(externalSystemId, entity, okapiHeaders)
       .thenCompose(this::handleStagingUserResponse)
-      .thenAccept(response -> asyncResultHandler.handle(Future.succeededFuture(response)))
+      .thenAccept(response -> timedResultHandler.handle(Future.succeededFuture(response)))
       .exceptionally(throwable -> {
         logger.error("putPatronByExternalSystemId:: Failed to update external patron", throwable);
-        asyncResultHandler.handle(Future.succeededFuture(PostPatronResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
+        timedResultHandler.handle(Future.succeededFuture(PostPatronResponse.respond500WithTextPlain(throwable.getCause().getMessage())));
         return null;
       });
   }
@@ -252,6 +294,8 @@ public class PatronServicesResourceImpl implements Patron {
       int limit, boolean includeBatches,
       Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     logger.debug("getPatronAccountById:: Trying to get PatronAccount with parameters:  id: {}, includeLoans: {}, " +
       "includeCharges: {}, includeHolds: {}", id, includeLoans, includeCharges, includeHolds);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
@@ -262,79 +306,183 @@ public class PatronServicesResourceImpl implements Patron {
     var patronSettingsService = new PatronSettingsService(postgresClient);
     var mediatedRequestsService = new MediatedRequestsService(httpClient);
 
+    final Supplier<CompletableFuture<Account>> accountLoader = () -> {
+      try {
+        final Account account = new Account();
+
+        account.setTotalChargesCount(0);
+
+        // Only the charges need the currency, so the other lists are fetched while it resolves
+        final CompletableFuture<String> currencyCode = new LocaleSettingsService()
+          .getCurrencyCode(httpClient, okapiHeaders);
+
+        // Each section fills its own account and is copied into the response once complete,
+        // so that a section still running after its deadline cannot change the response
+        final Account loansSection = new Account();
+        final CompletableFuture<Account> cf1 = getLoans(id, sortBy, limit, offset, includeLoans, okapiHeaders,
+          httpClient)
+            .thenApply(body -> addLoans(loansSection, body, includeLoans));
+
+        final Account holdsSection = new Account();
+        Map<String, String> queryParameters = buildRequestsGetQueryParams(id, sortBy, limit, offset, includeHolds, includeBatches);
+        final CompletableFuture<Account> cf2 = getRequests(queryParameters, includeBatches, patronSettingsService, okapiHeaders, httpClient)
+          .thenApply(requestsResponse -> addHolds(holdsSection, requestsResponse, includeHolds, includeBatches))
+          .thenCompose(requestsResponse -> addBatches(holdsSection, requestsResponse, mediatedRequestsService, okapiHeaders));
+
+        final Account chargesSection = new Account();
+        final CompletableFuture<Account> cf3 = getAccounts(id, sortBy, limit, offset, okapiHeaders, httpClient)
+            .thenCombine(currencyCode, (body, code) -> addCharges(chargesSection, body, includeCharges, code))
+            .thenCompose(charges -> includeCharges
+              ? lookupItems(chargesSection, okapiHeaders, httpClient)
+              : completedFuture(chargesSection));
+
+        if (accountOptions.partialResults()) {
+          return collectAccountSections(account, cf1, cf2, cf3, currencyCode, vertxContext);
+        }
+
+        return CompletableFuture.allOf(cf1, cf2, cf3)
+            .thenApply(result -> {
+              copyLoans(loansSection, account);
+              copyHolds(holdsSection, account);
+              copyCharges(chargesSection, account);
+              return account;
+            });
+      } catch (Exception e) {
+        logger.error("getPatronAccountById:: Exception while initiating the fetching of PatronAccount lists ", e);
+        return CompletableFuture.<Account>failedFuture(new CompletionException(e));
+      }
+    };
+
     try {
       // Look up the user to ensure that the user exists and is enabled
-      userRepository.getUser(id, okapiHeaders)
-        .thenCompose(notUsed -> {
-          return getCurrencyCode(okapiHeaders, httpClient);
-        })
-        .thenCompose(code -> {
-          try {
-            final Account account = new Account();
-
-            account.setTotalCharges(new TotalCharges().withAmount(0.0).withIsoCurrencyCode(code));
-            account.setTotalChargesCount(0);
-
-            final CompletableFuture<Account> cf1 = getLoans(id, sortBy, limit, offset, includeLoans, okapiHeaders,
-              httpClient)
-                .thenApply(body -> addLoans(account, body, includeLoans));
-
-            Map<String, String> queryParameters = buildRequestsGetQueryParams(id, sortBy, limit, offset, includeHolds, includeBatches);
-            final CompletableFuture<Account> cf2 = getRequests(queryParameters, includeBatches, patronSettingsService, okapiHeaders, httpClient)
-              .thenApply(requestsResponse -> addHolds(account, requestsResponse, includeHolds, includeBatches))
-              .thenCompose(requestsResponse -> addBatches(account, requestsResponse, mediatedRequestsService, okapiHeaders));
-
-            final CompletableFuture<Account> cf3 = getAccounts(id, sortBy, limit, offset, okapiHeaders, httpClient)
-                .thenApply(body -> addCharges(account, body, includeCharges, code))
-                .thenCompose(charges -> {
-                  if (includeCharges) {
-                    List<CompletableFuture<Account>> cfs = new ArrayList<>();
-
-                    for (Charge charge: account.getCharges()) {
-                      if (charge.getItem() != null && charge.getItem().getItemId() != null) {
-                        cfs.add(lookupItem(charge, account, okapiHeaders,
-                          httpClient));
-                      }
-                    }
-                    return CompletableFuture.allOf(cfs.toArray(new CompletableFuture[cfs.size()]))
-                        .thenApply(done -> account);
-                  }
-                  return completedFuture(account);
-                });
-
-            return CompletableFuture.allOf(cf1, cf2, cf3)
-                .thenApply(result -> account);
-          } catch (Exception e) {
-            logger.error("getPatronAccountById:: Exception in first thenCompose block while fetching PatronAccount ", e);
-            throw new CompletionException(e);
-          }
-        })
+      final CompletableFuture<JsonObject> user = userRepository.getUser(id, okapiHeaders);
+
+      // In parallel mode the lists are requested together with the user and are dropped
+      // if the user lookup fails
+      final CompletableFuture<Account> patronAccount = accountOptions.parallelUserLookup()
+        ? user.thenCombine(accountLoader.get(), (notUsed, account) -> account)
+        : user.thenCompose(notUsed -> accountLoader.get());
+
+      patronAccount
         .thenAccept(account -> {
-          asyncResultHandler.handle(succeededFuture(GetPatronAccountByIdResponse.respond200WithApplicationJson(account)));
+          timedResultHandler.handle(succeededFuture(GetPatronAccountByIdResponse.respond200WithApplicationJson(account)));
         })
         .exceptionally(throwable -> {
           logger.error("getPatronAccountById:: Exception in exceptionally block for fetching PatronAccount " +
             "while handling result ", throwable);
-          asyncResultHandler.handle(handleError(throwable));
+          timedResultHandler.handle(handleError(throwable));
           return null;
         });
     } catch (Exception e) {
       logger.error("getPatronAccountById:: Exception in outer try-catch block while initiating the process during " +
         "fetching PatronAccount", e);
-      asyncResultHandler.handle(succeededFuture(GetPatronAccountByIdResponse.respond500WithTextPlain(e.getMessage())));
+      timedResultHandler.handle(succeededFuture(GetPatronAccountByIdResponse.respond500WithTextPlain(e.getMessage())));
     }
   }
 
-  private CompletableFuture<String> getCurrencyCode(Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
+  /**
+   * Waits for each section until its deadline and returns the sections that completed,
+   * the status of each section tells whether it is included. A section left out has
+   * empty lists and zero totals, and is cancelled when it timed out
+   */
+  private CompletableFuture<Account> collectAccountSections(Account account,
+    CompletableFuture<Account> loans, CompletableFuture<Account> holds,
+    CompletableFuture<Account> charges, CompletableFuture<String> currencyCode,
+    Context vertxContext) {
+
+    final CompletableFuture<SectionStatus> loansStatus = sectionStatus("loans", loans, vertxContext);
+    final CompletableFuture<SectionStatus> holdsStatus = sectionStatus("holds", holds, vertxContext);
+    final CompletableFuture<SectionStatus> chargesStatus = sectionStatus("charges", charges,
+      vertxContext);
+
+    return CompletableFuture.allOf(loansStatus, holdsStatus, chargesStatus)
+      .thenApply(notUsed -> {
+        if (loansStatus.join() == SectionStatus.OK) {
+          copyLoans(loans.join(), account);
+        } else {
+          account.withLoans(new ArrayList<>()).withTotalLoans(0);
+        }
 
-    return httpClient.get("/locale", okapiHeaders)
-      .thenApply(ResponseInterpreter::verifyAndExtractBody)
-      .thenApply(response -> Optional.ofNullable(response)
-        .map(json -> json.getString("currency"))
-        .orElse("USD"));
+        if (holdsStatus.join() == SectionStatus.OK) {
+          copyHolds(holds.join(), account);
+        } else {
+          account.withHolds(new ArrayList<>()).withBatches(new ArrayList<>()).withTotalHolds(0);
+        }
+
+        if (chargesStatus.join() == SectionStatus.OK) {
+          copyCharges(charges.join(), account);
+        } else {
+          account.withCharges(new ArrayList<>())
+            .withTotalChargesCount(0)
+            .withTotalCharges(new TotalCharges()
+              .withAmount(0.0)
+              .withIsoCurrencyCode(currencyCodeOrDefault(currencyCode)));
+        }
+
+        return account.withSectionStatuses(new SectionStatuses()
+          .withLoans(loansStatus.join())
+          .withHolds(holdsStatus.join())
+          .withCharges(chargesStatus.join()));
+      });
   }
 
-  private CompletableFuture<JsonObject> getAccounts(String id,
+  /**
+   * The deadline is a Vert.x timer, so a section that times out completes its
+   * status on an event loop, like the sections that complete in time, and the
+   * response is never handed over on another thread
+   */
+  private CompletableFuture<SectionStatus> sectionStatus(String section,
+    CompletableFuture<Account> sectionFuture, Context vertxContext) {
+
+    final var vertx = vertxContext.owner();
+    final var timeoutMs = accountOptions.sectionTimeoutMs();
+    final var status = new CompletableFuture<SectionStatus>();
+
+    final var timerId = vertx.setTimer(timeoutMs, notUsed -> {
+      if (status.complete(SectionStatus.TIMEOUT)) {
+        logger.warn("sectionStatus:: {} not complete within {} ms, left out of the account",
+          section, timeoutMs);
+        // so that the last stage of the section, like looking up the items of the charges, is not run
+        sectionFuture.cancel(false);
+      }
+    });
+
+    sectionFuture.whenComplete((notUsed, throwable) -> {
+      vertx.cancelTimer(timerId);
+      if (throwable == null) {
+        status.complete(SectionStatus.OK);
+      } else if (status.complete(SectionStatus.ERROR)) {
+        logger.warn("sectionStatus:: {} failed, left out of the account", section, throwable);
+      }
+    });
+
+    return status;
+  }
+
+  private static String currencyCodeOrDefault(CompletableFuture<String> currencyCode) {
+    return currencyCode.isDone() && !currencyCode.isCompletedExceptionally()
+      ? currencyCode.join()
+      : LocaleSettingsService.DEFAULT_CURRENCY;
+  }
+
+  private static void copyLoans(Account from, Account to) {
+    to.setLoans(from.getLoans());
+    to.setTotalLoans(from.getTotalLoans());
+  }
+
+  private static void copyHolds(Account from, Account to) {
+    to.setHolds(from.getHolds());
+    to.setTotalHolds(from.getTotalHolds());
+    to.setBatches(from.getBatches());
+  }
+
+  private static void copyCharges(Account from, Account to) {
+    to.setCharges(from.getCharges());
+    to.setTotalCharges(from.getTotalCharges());
+    to.setTotalChargesCount(from.getTotalChargesCount());
+  }
+
+  private CompletableFuture<FeesFinesCollection> getAccounts(String id,
     String sortBy, int limit, int offset,
     Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
 
@@ -342,16 +490,16 @@ public class PatronServicesResourceImpl implements Patron {
     queryParameters.putAll(getLimitAndOffsetParams(limit, offset, true));
     queryParameters.put(QUERY, buildQueryWithUserId(id, sortBy));
 
-    return httpClient.get("/accounts", queryParameters, okapiHeaders)
-      .thenApply(ResponseInterpreter::verifyAndExtractBody);
+    return getCollection("/accounts", "accounts", FeesFinesCollection.class, queryParameters,
+      okapiHeaders, httpClient);
   }
 
   private CompletableFuture<JsonObject> getRequests(Map<String, String> queryParameters, boolean includeBatches,
                                                     PatronSettingsService patronSettingsService,
                                                     Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
     if (!includeBatches) {
-      return httpClient.get("/circulation/requests", queryParameters, okapiHeaders)
-        .thenApply(ResponseInterpreter::verifyAndExtractBody);
+      return getCollection("/circulation/requests", JSON_COLLECTION_FIELD_REQUESTS, queryParameters,
+        okapiHeaders, httpClient);
     }
 
     return getRequestsWithBatchInfoEnriched(queryParameters, patronSettingsService, okapiHeaders, httpClient);
@@ -370,8 +518,8 @@ public class PatronServicesResourceImpl implements Patron {
           throw new ValidationException(errors);
         }
 
-        return httpClient.get("/circulation-bff/requests", queryParameters, okapiHeaders)
-          .thenApply(ResponseInterpreter::verifyAndExtractBody);
+        return getCollection("/circulation-bff/requests", JSON_COLLECTION_FIELD_REQUESTS, queryParameters,
+          okapiHeaders, httpClient);
       });
   }
 
@@ -383,7 +531,7 @@ public class PatronServicesResourceImpl implements Patron {
     return queryParameters;
   }
 
-  private CompletableFuture<JsonObject> getLoans(String id,
+  private CompletableFuture<LoansCollection> getLoans(String id,
     String sortBy, int limit, int offset,
     boolean includeLoans, Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
 
@@ -391,16 +539,62 @@ public class PatronServicesResourceImpl implements Patron {
     queryParameters.putAll(getLimitAndOffsetParams(limit, offset, includeLoans));
     queryParameters.put(QUERY, buildQueryWithUserId(id, sortBy));
 
-    return httpClient.get("/circulation/loans", queryParameters, okapiHeaders)
+    return getCollection("/circulation/loans", "loans", LoansCollection.class, queryParameters,
+      okapiHeaders, httpClient);
+  }
+
+  /**
+   * Fetches the collection in pages when all the records are asked for and paging
+   * is enabled, instead of asking the module for all of them in one response
+   */
+  private CompletableFuture<JsonObject> getCollection(String path, String collectionName,
+    Map<String, String> queryParameters, Map<String, String> okapiHeaders,
+    VertxOkapiHttpClient httpClient) {
+
+    if (isPaged(queryParameters)) {
+      return pagedCollectionFetcher(httpClient)
+        .fetchAll(path, collectionName, queryParameters, okapiHeaders);
+    }
+
+    return httpClient.get(path, queryParameters, okapiHeaders)
       .thenApply(ResponseInterpreter::verifyAndExtractBody);
   }
 
+  /**
+   * Same as {@link #getCollection(String, String, Map, Map, VertxOkapiHttpClient)}, but
+   * decodes the body, or every page of it, straight to the type instead of to a JSON tree
+   */
+  private <T extends PagedCollection<T>> CompletableFuture<T> getCollection(String path,
+    String collectionName, Class<T> type, Map<String, String> queryParameters,
+    Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
+
+    if (isPaged(queryParameters)) {
+      return pagedCollectionFetcher(httpClient)
+        .fetchAll(path, collectionName, type, queryParameters, okapiHeaders);
+    }
+
+    return httpClient.get(path, queryParameters, okapiHeaders)
+      .thenApply(response -> ResponseInterpreter.verifyAndExtractBodyAs(response, type));
+  }
+
+  private static boolean isPaged(Map<String, String> queryParameters) {
+    return ACCOUNT_PAGE_SIZE > 0 && UNLIMITED.equals(queryParameters.get("limit"));
+  }
+
+  private static PagedCollectionFetcher pagedCollectionFetcher(VertxOkapiHttpClient httpClient) {
+    return new PagedCollectionFetcher(httpClient, ACCOUNT_PAGE_SIZE, ACCOUNT_MAX_CONCURRENT_PAGES,
+      ACCOUNT_MAX_RECORDS);
+  }
+
   @Validate
   @Override
   public void postPatronAccountItemRenewByIdAndItemId(String id, String itemId,
       Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
 
     final JsonObject renewalJSON = new JsonObject()
@@ -413,23 +607,50 @@ public class PatronServicesResourceImpl implements Patron {
           .thenAccept(body -> {
             final Item item = getItem(itemId, body.getJsonObject(JSON_FIELD_ITEM));
             final Loan hold = getLoan(body, item);
-            asyncResultHandler.handle(succeededFuture(PostPatronAccountItemRenewByIdAndItemIdResponse.respond201WithApplicationJson(hold)));
+            timedResultHandler.handle(succeededFuture(PostPatronAccountItemRenewByIdAndItemIdResponse.respond201WithApplicationJson(hold)));
           })
           .exceptionally(throwable -> {
-            asyncResultHandler.handle(handleRenewPOSTError(throwable));
+            timedResultHandler.handle(handleRenewPOSTError(throwable));
             return null;
           });
     } catch (Exception e) {
-      asyncResultHandler.handle(succeededFuture(PostPatronAccountItemRenewByIdAndItemIdResponse.respond500WithTextPlain(e.getMessage())));
+      timedResultHandler.handle(succeededFuture(PostPatronAccountItemRenewByIdAndItemIdResponse.respond500WithTextPlain(e.getMessage())));
     }
   }
 
   @Validate
   @Override
   public void postPatronAccountItemHoldByIdAndItemId(String id, String itemId,
-      Hold entity, Map<String, String> okapiHeaders,
+      String idempotencyKey, Hold entity, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
+    if (StringUtils.isBlank(idempotencyKey)) {
+      placeItemHold(id, itemId, entity, okapiHeaders, timedResultHandler, vertxContext);
+      return;
+    }
+
+    var postgresClient = PostgresClient.getInstance(vertxContext.owner(),
+      TenantTool.tenantId(okapiHeaders));
+
+    new IdempotentHoldService(postgresClient, okapiHeaders)
+      .placeHold(idempotencyKey, id, itemId, () -> placed(handler ->
+        placeItemHold(id, itemId, entity, okapiHeaders, handler, vertxContext)))
+      .whenComplete((response, throwable) -> {
+        if (throwable != null) {
+          timedResultHandler.handle(succeededFuture(respond500WithTextPlain(getCauseMessage(throwable))));
+        } else {
+          timedResultHandler.handle(succeededFuture(response));
+        }
+      });
+  }
+
+  private void placeItemHold(String id, String itemId, Hold entity,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext) {
+
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
 
     RequestObjectFactory requestFactory = new RequestObjectFactory(httpClient, okapiHeaders);
@@ -468,6 +689,9 @@ public class PatronServicesResourceImpl implements Patron {
             createItemLevelRequest(context.isEcsTlrFeatureEnabled(), context.getHoldRequest(), httpClient, okapiHeaders)
               .thenApply(ResponseInterpreter::verifyAndExtractBody)
               .thenAccept(body -> {
+                if (context.getItem() != null) {
+                  AllowedServicePointsService.invalidateItem(TenantTool.tenantId(okapiHeaders), context.getItem());
+                }
                 final Item item = getItem(body);
                 final Hold hold = getHold(body, item);
                 asyncResultHandler.handle(succeededFuture(respond201WithApplicationJson(hold)));
@@ -484,9 +708,116 @@ public class PatronServicesResourceImpl implements Patron {
       });
   }
 
+  @Validate
+  @Override
+  public void postPatronAccountItemHoldJobByIdAndItemId(String id, String itemId,
+      Hold entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
+    submitHoldJob(new HoldJob().withRequesterId(id).withItemId(itemId).withHold(entity),
+      okapiHeaders, vertxContext,
+      handler -> placeItemHold(id, itemId, entity, okapiHeaders, handler, vertxContext))
+      .whenComplete((job, throwable) -> {
+        if (ExpiringRecords.causeOf(throwable) instanceof RejectedExecutionException rejected) {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountItemHoldJobByIdAndItemIdResponse
+            .respond503WithTextPlain(rejected.getMessage())));
+        } else if (throwable != null) {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountItemHoldJobByIdAndItemIdResponse
+            .respond500WithTextPlain(getCauseMessage(throwable))));
+        } else {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountItemHoldJobByIdAndItemIdResponse
+            .respond202WithApplicationJson(job)));
+        }
+      });
+  }
+
+  @Validate
+  @Override
+  public void postPatronAccountInstanceHoldJobByIdAndInstanceId(String id, String instanceId,
+      Hold entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
+    submitHoldJob(new HoldJob().withRequesterId(id).withInstanceId(instanceId).withHold(entity),
+      okapiHeaders, vertxContext,
+      handler -> placeInstanceHold(id, instanceId, entity, okapiHeaders, handler, vertxContext))
+      .whenComplete((job, throwable) -> {
+        if (ExpiringRecords.causeOf(throwable) instanceof RejectedExecutionException rejected) {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountInstanceHoldJobByIdAndInstanceIdResponse
+            .respond503WithTextPlain(rejected.getMessage())));
+        } else if (throwable != null) {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountInstanceHoldJobByIdAndInstanceIdResponse
+            .respond500WithTextPlain(getCauseMessage(throwable))));
+        } else {
+          timedResultHandler.handle(succeededFuture(PostPatronAccountInstanceHoldJobByIdAndInstanceIdResponse
+            .respond202WithApplicationJson(job)));
+        }
+      });
+  }
+
+  @Override
+  public void getPatronAccountHoldJobStatusByIdAndHoldJobId(String id, String holdJobId,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext) {
+
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+    var postgresClient = PostgresClient.getInstance(vertxContext.owner(),
+      TenantTool.tenantId(okapiHeaders));
+
+    new HoldJobService(postgresClient, okapiHeaders)
+      .get(holdJobId)
+      .whenComplete((job, throwable) -> {
+        if (throwable != null) {
+          logger.error("getPatronAccountHoldJobStatusByIdAndHoldJobId:: Failed to get hold job {}",
+            holdJobId, throwable);
+          timedResultHandler.handle(succeededFuture(GetPatronAccountHoldJobStatusByIdAndHoldJobIdResponse
+            .respond500WithTextPlain(getCauseMessage(throwable))));
+        } else if (job == null || !id.equals(job.getRequesterId())) {
+          timedResultHandler.handle(succeededFuture(GetPatronAccountHoldJobStatusByIdAndHoldJobIdResponse
+            .respond404WithTextPlain("Hold job not found")));
+        } else {
+          timedResultHandler.handle(succeededFuture(GetPatronAccountHoldJobStatusByIdAndHoldJobIdResponse
+            .respond200WithApplicationJson(job)));
+        }
+      });
+  }
+
+  private CompletableFuture<HoldJob> submitHoldJob(HoldJob job, Map<String, String> okapiHeaders,
+      Context vertxContext, Consumer<Handler<AsyncResult<Response>>> holdPlacer) {
+
+    var postgresClient = PostgresClient.getInstance(vertxContext.owner(),
+      TenantTool.tenantId(okapiHeaders));
+
+    return new HoldJobService(postgresClient, okapiHeaders)
+      .submit(job, () -> placed(holdPlacer));
+  }
+
+  private static String getCauseMessage(Throwable throwable) {
+    return ExpiringRecords.causeOf(throwable).getMessage();
+  }
+
+  /**
+   * Completes with the response a hold placement hands to its handler
+   */
+  private static CompletableFuture<Response> placed(
+      Consumer<Handler<AsyncResult<Response>>> holdPlacer) {
+
+    final Promise<Response> placed = Promise.promise();
+    holdPlacer.accept(placed);
+    return ExpiringRecords.toCompletableFuture(placed.future());
+  }
+
   @Validate
   @Override
   public void postPatronAccountHoldCancelByIdAndHoldId(String id, String holdId, Hold entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
 
     final Hold[] holds = new Hold[1];
@@ -503,36 +834,80 @@ public class PatronServicesResourceImpl implements Patron {
       .thenApply(ResponseInterpreter::verifyAndExtractBody)
       .whenComplete((body, throwable) -> {
         if (throwable != null) {
-          asyncResultHandler.handle(handleHoldCancelPOSTError(throwable));
+          timedResultHandler.handle(handleHoldCancelPOSTError(throwable));
         } else {
-          asyncResultHandler.handle(succeededFuture(respond200WithApplicationJson(holds[0])));
+          timedResultHandler.handle(succeededFuture(respond200WithApplicationJson(holds[0])));
         }
       });
   }
 
   @Override
   public void getPatronRegistrationStatusByIdentifier(String identifier, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     logger.debug("getPatronRegistrationStatusByIdentifier:: Fetching patron details by identifier");
     final var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
     final var userRepository = new UserRepository(httpClient);
 
     getUserByEmailOrESIDWithPatronType(identifier, okapiHeaders, userRepository)
-      .thenAccept(userResponse -> handleGetUserResponse(identifier, userResponse, asyncResultHandler))
+      .thenAccept(userResponse -> handleGetUserResponse(identifier, userResponse, timedResultHandler))
       .exceptionally(throwable -> {
         logger.error("getPatronRegistrationStatusByEmailIdAndExternalSystemId:: Failed to get patron details by identifier",
           throwable);
-        asyncResultHandler.handle(Future.succeededFuture(GetPatronRegistrationStatusByIdentifierResponse
+        timedResultHandler.handle(Future.succeededFuture(GetPatronRegistrationStatusByIdentifierResponse
           .respond500WithTextPlain(throwable.getCause().getMessage())));
         return null;
       });
   }
 
+  @Override
+  public void deletePatronRequestPolicyCache(Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
+    try {
+      RequestPolicyService.invalidate(TenantTool.tenantId(okapiHeaders));
+      AllowedServicePointsService.invalidate(TenantTool.tenantId(okapiHeaders));
+      timedResultHandler.handle(succeededFuture(DeletePatronRequestPolicyCacheResponse.respond204()));
+    } catch (Exception e) {
+      logger.error("deletePatronRequestPolicyCache:: Failed to drop cached request policies", e);
+      timedResultHandler.handle(succeededFuture(DeletePatronRequestPolicyCacheResponse
+        .respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  @Override
+  public void getPatronMetrics(Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    try {
+      asyncResultHandler.handle(succeededFuture(GetPatronMetricsResponse
+        .respond200WithTextPlain(ModuleMetrics.scrape(TenantTool.tenantId(okapiHeaders)))));
+    } catch (Exception e) {
+      logger.error("getPatronMetrics:: Failed to collect the metrics", e);
+      asyncResultHandler.handle(succeededFuture(GetPatronMetricsResponse
+        .respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
   @Validate
   @Override
   public void postPatronAccountInstanceHoldByIdAndInstanceId(String id,
       String instanceId, Hold entity, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler,
       Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
+    placeInstanceHold(id, instanceId, entity, okapiHeaders, timedResultHandler, vertxContext);
+  }
+
+  private void placeInstanceHold(String id, String instanceId, Hold entity,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext) {
+
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
 
     final JsonObject holdJSON = new JsonObject()
@@ -573,17 +948,23 @@ public class PatronServicesResourceImpl implements Patron {
                                                                                       Map<String, String> okapiHeaders,
                                                                                       Handler<AsyncResult<Response>> asyncResultHandler,
                                                                                       Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
 
+    final var fanOut = ALLOWED_SERVICE_POINTS_LIMITER.forRequest(TenantTool.tenantId(okapiHeaders));
+
     shouldUseBff(httpClient, okapiHeaders)
       .thenApply(this::getAllowedServicePointsUrl)
-      .thenCompose(path -> getAllowedServicePointsPerItems(
-        params -> httpClient.getExtendedTimeout(path, params, okapiHeaders), requesterId, entity.getItemIds()))
+      .thenCompose(path -> GROUP_EQUIVALENT_ITEMS
+        ? getAllowedServicePointsPerItems(httpClient, path, fanOut, requesterId, entity.getItemIds(), okapiHeaders)
+        : getAllowedServicePointsPerItems(
+          params -> httpClient.getExtendedTimeout(path, params, okapiHeaders), fanOut, requesterId, entity.getItemIds()))
       .whenComplete((allowedServicePointsPerItems, throwable) -> {
         if (throwable != null) {
-          asyncResultHandler.handle(handleAllowedServicePointsPostError(throwable));
+          timedResultHandler.handle(handleAllowedServicePointsPostError(throwable));
         } else {
-          asyncResultHandler.handle(succeededFuture(
+          timedResultHandler.handle(succeededFuture(
             PostPatronAccountInstanceAllowedServicePointsMultiItemByIdAndInstanceIdResponse
               .respond200WithApplicationJson(new AllowedServicePointsPerItems().withAllowedServicePointsPerItem(allowedServicePointsPerItems))));
         }
@@ -593,10 +974,13 @@ public class PatronServicesResourceImpl implements Patron {
   @Override
   public void getPatronAccountItemAllowedServicePointsByIdAndItemId(String requesterId, String itemId,
     Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
-    var queryParameters = queryParamsForItemId(requesterId, itemId);
+    var service = new AllowedServicePointsService(httpClient, okapiHeaders);
 
-    getAllowedServicePoints(okapiHeaders, asyncResultHandler, httpClient, queryParameters);
+    getAllowedServicePoints(okapiHeaders, timedResultHandler, httpClient,
+      path -> service.getForItem(path, requesterId, itemId));
   }
 
   @Override
@@ -604,11 +988,17 @@ public class PatronServicesResourceImpl implements Patron {
     String instanceId, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
+
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
     var queryParameters = Map.of("operation", "create",
       "requesterId", requesterId, "instanceId", instanceId);
 
-    getAllowedServicePoints(okapiHeaders, asyncResultHandler, httpClient, queryParameters);
+    getAllowedServicePoints(okapiHeaders, timedResultHandler, httpClient,
+      path -> httpClient.getExtendedTimeout(path, queryParameters, okapiHeaders)
+        .thenApply(ResponseInterpreter::verifyAndExtractBody)
+        .thenApply(AllowedServicePointsService::collect));
   }
 
   @Override
@@ -616,14 +1006,16 @@ public class PatronServicesResourceImpl implements Patron {
                                                                      Map<String, String> okapiHeaders,
                                                                      Handler<AsyncResult<Response>> asyncResultHandler,
                                                                      Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
     var service = new MediatedRequestsService(httpClient);
     service.createBatchRequest(entity, requesterId, okapiHeaders)
       .whenComplete((submitResult, throwable) -> {
         if (throwable != null) {
-          asyncResultHandler.handle(handleBatchRequestPOSTError(throwable));
+          timedResultHandler.handle(handleBatchRequestPOSTError(throwable));
         } else {
-          asyncResultHandler.handle(succeededFuture(
+          timedResultHandler.handle(succeededFuture(
             PostPatronAccountInstanceBatchRequestByIdAndInstanceIdResponse
               .respond200WithApplicationJson(submitResult)));
         }
@@ -636,6 +1028,8 @@ public class PatronServicesResourceImpl implements Patron {
                                                                                            Map<String, String> okapiHeaders,
                                                                                            Handler<AsyncResult<Response>> asyncResultHandler,
                                                                                            Context vertxContext) {
+    final var timedResultHandler = ModuleMetrics.timeEndpoint(okapiHeaders,
+      asyncResultHandler, vertxContext);
     var httpClient = HttpClientFactory.getHttpClient(vertxContext.owner());
     var service = new MediatedRequestsService(httpClient);
     var instance = new JsonObject()
@@ -643,9 +1037,9 @@ public class PatronServicesResourceImpl implements Patron {
     service.getBatchRequestStatus(batchRequestId, instance, okapiHeaders)
       .whenComplete((submitResult, throwable) -> {
         if (throwable != null) {
-          asyncResultHandler.handle(handleBatchRequestStatusGetError(throwable));
+          timedResultHandler.handle(handleBatchRequestStatusGetError(throwable));
         } else {
-          asyncResultHandler.handle(succeededFuture(
+          timedResultHandler.handle(succeededFuture(
             GetPatronAccountInstanceBatchRequestStatusByIdAndInstanceIdAndBatchRequestIdResponse
               .respond200WithApplicationJson(submitResult)));
         }
@@ -661,11 +1055,10 @@ public class PatronServicesResourceImpl implements Patron {
 
   private CompletableFuture<List<AllowedServicePointsPerItem>> getAllowedServicePointsPerItems(
     Function<Map<String, String>, CompletableFuture<org.folio.integration.http.Response>> servicePointsFetcher,
-    String requesterId, List<String> itemIds) {
+    FanOutLimiter.FanOut fanOut, String requesterId, List<String> itemIds) {
     List<CompletableFuture<AllowedServicePointsPerItem>> futures = itemIds.stream()
       .map(itemId ->
-        CompletableFuture.supplyAsync(() -> queryParamsForItemId(requesterId, itemId), ITEMS_ALLOWED_SERVICE_POINTS_EXECUTOR)
-          .thenCompose(servicePointsFetcher)
+        fanOut.submit(() -> servicePointsFetcher.apply(queryParamsForItemId(requesterId, itemId)))
           .thenApply(ResponseInterpreter::verifyAndExtractBody)
           .thenApply(jsonObj -> {
             var itemAllowedServicePoints = getAllowedServicePointsPerItem(jsonObj);
@@ -676,14 +1069,32 @@ public class PatronServicesResourceImpl implements Patron {
       .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
   }
 
+  private CompletableFuture<List<AllowedServicePointsPerItem>> getAllowedServicePointsPerItems(
+    VertxOkapiHttpClient httpClient, String path, FanOutLimiter.FanOut fanOut, String requesterId,
+    List<String> itemIds, Map<String, String> okapiHeaders) {
+
+    final var itemRepository = new ItemRepository(httpClient);
+    final var resolver = new AllowedServicePointsResolver(
+      ids -> itemRepository.getItemsNoThrow(ids, okapiHeaders),
+      itemId -> fanOut.submit(() -> httpClient.getExtendedTimeout(path,
+          queryParamsForItemId(requesterId, itemId), okapiHeaders))
+        .thenApply(ResponseInterpreter::verifyAndExtractBody));
+
+    return resolver.resolve(itemIds)
+      .thenApply(servicePoints -> itemIds.stream()
+        .map(itemId -> getAllowedServicePointsPerItem(servicePoints.get(itemId)).withItemId(itemId))
+        .toList());
+  }
+
   private void getAllowedServicePoints(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    VertxOkapiHttpClient httpClient, Map<String, String> queryParameters) {
+    VertxOkapiHttpClient httpClient,
+    Function<String, CompletableFuture<Set<AllowedServicePoint>>> servicePointsFetcher) {
     new EcsTlrSettingsService()
       .isEcsTlrFeatureEnabled(httpClient, okapiHeaders)
       .thenApply(this::getAllowedServicePointsUrl)
-      .thenCompose(path -> httpClient.getExtendedTimeout(path, queryParameters, okapiHeaders))
-      .thenApply(ResponseInterpreter::verifyAndExtractBody)
-      .thenApply(this::getAllowedServicePoints)
+      .thenCompose(servicePointsFetcher)
+      .thenApply(allowedServicePoints -> new AllowedServicePoints()
+        .withAllowedServicePoints(allowedServicePoints))
       .whenComplete((allowedServicePoints, throwable) -> {
         if (throwable != null) {
           asyncResultHandler.handle(handleAllowedServicePointsGetError(throwable));
@@ -702,29 +1113,41 @@ public class PatronServicesResourceImpl implements Patron {
       "itemId", itemId);
   }
 
-  private Account addLoans(Account account, JsonObject body, boolean includeLoans) {
-    final int totalLoans = body.getInteger(JSON_FIELD_TOTAL_RECORDS, Integer.valueOf(0)).intValue();
+  @VisibleForTesting
+  Account addLoans(Account account, LoansCollection body, boolean includeLoans) {
+    final int totalLoans = body.totalRecords();
     final List<Loan> loans = new ArrayList<>();
 
     account.setTotalLoans(totalLoans);
     account.setLoans(loans);
 
-    if (totalLoans > 0 && includeLoans) {
-      final JsonArray loansArray = body.getJsonArray("loans");
-      for (Object o : loansArray) {
-        if (o instanceof JsonObject) {
-          JsonObject loanObject = (JsonObject) o;
-          final Item item = getItem(loanObject.getString(JSON_FIELD_ITEM_ID),
-                                    loanObject.getJsonObject(JSON_FIELD_ITEM));
-          final Loan loan = getLoan(loanObject, item);
-          loans.add(loan);
-        }
+    if (totalLoans > 0 && includeLoans && body.loans() != null) {
+      for (LoansCollection.Loan loanRecord : body.loans()) {
+        final Item item = getItem(loanRecord.itemId(), loanRecord.item());
+        loans.add(getLoan(loanRecord, item));
       }
     }
 
     return account;
   }
 
+  private Item getItem(String itemId, LoansCollection.Item itemRecord) {
+    if (itemRecord == null) {
+      return new Item().withItemId(itemId);
+    }
+
+    final String author = itemRecord.contributors() == null ? null : itemRecord.contributors().stream()
+      .filter(Objects::nonNull)
+      .map(LoansCollection.Contributor::name)
+      .collect(Collectors.joining("; "));
+
+    return new Item()
+        .withAuthor(StringUtils.isEmpty(author) ? null : author)
+        .withInstanceId(itemRecord.instanceId())
+        .withItemId(itemId)
+        .withTitle(itemRecord.title());
+  }
+
   private Item getItem(String itemId, JsonObject itemJson) {
     final JsonArray contributors = itemJson.getJsonArray(JSON_FIELD_CONTRIBUTORS, new JsonArray());
     final StringBuilder sb = new StringBuilder();
@@ -762,8 +1185,8 @@ public class PatronServicesResourceImpl implements Patron {
     return getItem(body.getString(JSON_FIELD_ITEM_ID), itemJson);
   }
 
-  private Loan getLoan(JsonObject loan, Item item) {
-    final String dueDateString = loan.getString("dueDate");
+  private Loan getLoan(LoansCollection.Loan loan, Item item) {
+    final String dueDateString = loan.dueDate();
     final boolean overdue;
     final Date dueDate;
 
@@ -774,20 +1197,20 @@ public class PatronServicesResourceImpl implements Patron {
       // This should be more sophisticated, or actually reported by
       // the circulation module. What is "overdue" can vary as some
       // libraries have a grace period, don't count holidays, etc.
-      final DateTime dueDateTime = new DateTime(dueDateString, DateTimeZone.UTC);
-      dueDate = dueDateTime.toDate();
-      overdue = dueDateTime.isBeforeNow();
+      dueDate = IsoTimestamps.toDate(dueDateString);
+      overdue = dueDate.getTime() < System.currentTimeMillis();
     }
 
     return new Loan()
-        .withId(loan.getString("id"))
+        .withId(loan.id())
         .withItem(item)
         .withOverdue(overdue)
         .withDueDate(dueDate)
-        .withLoanDate(new DateTime(loan.getString("loanDate"), DateTimeZone.UTC).toDate());
+        .withLoanDate(IsoTimestamps.toDate(loan.loanDate()));
   }
 
-  private JsonObject addHolds(Account account, JsonObject requestsJsonBody, boolean includeHolds, boolean includeBatches) {
+  @VisibleForTesting
+  JsonObject addHolds(Account account, JsonObject requestsJsonBody, boolean includeHolds, boolean includeBatches) {
     final int totalHolds = requestsJsonBody.getInteger(JSON_FIELD_TOTAL_RECORDS, Integer.valueOf(0)).intValue();
     final List<Hold> holds = new ArrayList<>();
 
@@ -822,7 +1245,7 @@ public class PatronServicesResourceImpl implements Patron {
 
     var batchRequestInfo = new BatchRequestInfo()
       .withBatchRequestId(batchInfo.getString(JSON_FIELD_BATCH_INFO_BATCH_ID))
-      .withBatchRequestSubmittedAt(Date.from(Instant.parse(batchInfo.getString("batchRequestSubmittedAt"))));
+      .withBatchRequestSubmittedAt(IsoTimestamps.toDate(batchInfo.getString("batchRequestSubmittedAt")));
     return Optional.of(batchRequestInfo);
   }
 
@@ -863,27 +1286,25 @@ public class PatronServicesResourceImpl implements Patron {
       });
   }
 
-  private Account addCharges(Account account, JsonObject body, boolean includeCharges, String currencyCode) {
-    final int totalCharges = body.getInteger(JSON_FIELD_TOTAL_RECORDS, Integer.valueOf(0)).intValue();
+  @VisibleForTesting
+  Account addCharges(Account account, FeesFinesCollection body, boolean includeCharges, String currencyCode) {
+    final int totalCharges = body.totalRecords();
     final List<Charge> charges = new ArrayList<>();
     account.setTotalChargesCount(totalCharges);
     account.setCharges(charges);
 
     double amount = 0.0;
 
-    if (totalCharges > 0) {
-      final JsonArray accountsJson = body.getJsonArray("accounts");
-      for (Object o : accountsJson) {
-        if (o instanceof JsonObject accountJson) {
-          Charge charge = getCharge(accountJson, currencyCode);
-          if (accountJson.getString(JSON_FIELD_ITEM_ID) != null) {
-            final Item item = new Item().withItemId(accountJson.getString(JSON_FIELD_ITEM_ID));
-            charge.setItem(item);
-          }
-          amount += charge.getChargeAmount().getAmount().doubleValue();
-          if (includeCharges) {
-            charges.add(charge);
-          }
+    if (totalCharges > 0 && body.accounts() != null) {
+      for (FeesFinesCollection.FeeFine feeFine : body.accounts()) {
+        Charge charge = getCharge(feeFine, currencyCode);
+        if (feeFine.itemId() != null) {
+          final Item item = new Item().withItemId(feeFine.itemId());
+          charge.setItem(item);
+        }
+        amount += charge.getChargeAmount().getAmount().doubleValue();
+        if (includeCharges) {
+          charges.add(charge);
         }
       }
     }
@@ -895,50 +1316,76 @@ public class PatronServicesResourceImpl implements Patron {
     return account;
   }
 
-  private Charge getCharge(JsonObject chargeJson, String currencyCode) {
+  private Charge getCharge(FeesFinesCollection.FeeFine feeFine, String currencyCode) {
     return new Charge()
-        .withAccrualDate(new DateTime(chargeJson.getJsonObject("metadata").getString("createdDate"), DateTimeZone.UTC).toDate())
-        .withChargeAmount(new TotalCharges().withAmount(chargeJson.getDouble("remaining")).withIsoCurrencyCode(currencyCode))
-        .withState(chargeJson.getJsonObject("paymentStatus",
-            new JsonObject().put(JSON_FIELD_NAME,  "Unknown"))
-                  .getString(JSON_FIELD_NAME))
-        .withReason(chargeJson.getString("feeFineType"));
+        .withAccrualDate(IsoTimestamps.toDate(feeFine.metadata().createdDate()))
+        .withChargeAmount(new TotalCharges().withAmount(feeFine.remaining()).withIsoCurrencyCode(currencyCode))
+        .withState(feeFine.paymentStatus() == null ? "Unknown" : feeFine.paymentStatus().name())
+        .withReason(feeFine.feeFineType());
   }
 
-  private CompletableFuture<Account> lookupItem(Charge charge, Account account,
+  /**
+   * Enriches the items of the charges using one batch of item, holdings record
+   * and instance lookups for the whole account, instead of lookups per charge.
+   * A charge whose item is not found gets no item, a charge whose instance is
+   * not found keeps an item with only its itemId; neither fails the account
+   * like the lookup per charge did for a missing instance.
+   */
+  private CompletableFuture<Account> lookupItems(Account account,
     Map<String, String> okapiHeaders, VertxOkapiHttpClient httpClient) {
 
-    final var itemRepository = new ItemRepository(httpClient);
+    final List<Charge> chargesWithItem = account.getCharges().stream()
+      .filter(charge -> charge.getItem() != null && charge.getItem().getItemId() != null)
+      .toList();
 
-    return itemRepository.getItemNoThrow(charge.getItem().getItemId(), okapiHeaders)
-      .thenCompose(item -> {
-        if (item == null) {
-          logger.warn("lookupItem:: Item not found for itemId: {}, setting item to null in charge",
-            charge.getItem().getItemId());
-          charge.setItem(null);
-          return completedFuture(account);
-        }
-        return getInstance(item, okapiHeaders, httpClient)
-          .thenApply(instance -> getItem(charge, instance))
-          .thenApply(itemObj -> updateItem(charge, itemObj, account));
-      });
-  }
+    if (chargesWithItem.isEmpty()) {
+      return completedFuture(account);
+    }
 
+    final var itemIds = chargesWithItem.stream()
+      .map(charge -> charge.getItem().getItemId())
+      .collect(Collectors.toSet());
 
-  private CompletableFuture<JsonObject> getInstance(
-    JsonObject item, Map<String, String> okapiHeaders,
-    VertxOkapiHttpClient httpClient) {
+    final var itemRepository = new ItemRepository(httpClient);
+    final var holdingsRecordRepository = new HoldingsRecordRepository(httpClient);
+    final var recordFetcher = new BatchRecordFetcher(httpClient);
+
+    return itemRepository.getItemsNoThrow(itemIds, okapiHeaders)
+      .thenCompose(items -> holdingsRecordRepository
+        .getHoldingsRecords(collectValues(items.values(), JSON_FIELD_HOLDINGS_RECORD_ID), okapiHeaders)
+        .thenCompose(holdingsRecords -> recordFetcher
+          .fetchByIds(INVENTORY_INSTANCES, "instances",
+            collectValues(holdingsRecords.values(), JSON_FIELD_INSTANCE_ID), okapiHeaders)
+          .thenApply(instances -> {
+            chargesWithItem.forEach(charge -> updateItem(charge, items, holdingsRecords, instances));
+            return account;
+          })));
+  }
 
-    try {
-      String cql = "holdingsRecords.id==" +
-          StringUtil.cqlEncode(item.getString(JSON_FIELD_HOLDINGS_RECORD_ID));
+  private static Set<String> collectValues(Collection<JsonObject> records, String fieldName) {
+    return records.stream()
+      .map(json -> json.getString(fieldName))
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+  }
 
-      return httpClient.get("/inventory/instances", Map.of(QUERY, cql), okapiHeaders)
-          .thenApply(ResponseInterpreter::verifyAndExtractBody)
-          .thenApply(instances -> instances.getJsonArray("instances").getJsonObject(0));
-    } catch (Exception e) {
-      throw new CompletionException(e);
+  private void updateItem(Charge charge, Map<String, JsonObject> items,
+    Map<String, JsonObject> holdingsRecords, Map<String, JsonObject> instances) {
+
+    final String itemId = charge.getItem().getItemId();
+    final JsonObject item = items.get(itemId);
+    if (item == null) {
+      logger.warn("updateItem:: Item not found for itemId: {}, setting item to null in charge", itemId);
+      charge.setItem(null);
+      return;
     }
+
+    Optional.ofNullable(item.getString(JSON_FIELD_HOLDINGS_RECORD_ID))
+      .map(holdingsRecords::get)
+      .map(holdingsRecord -> holdingsRecord.getString(JSON_FIELD_INSTANCE_ID))
+      .map(instances::get)
+      .ifPresentOrElse(instance -> charge.setItem(getItem(charge, instance)),
+        () -> logger.warn("updateItem:: Instance not found for itemId: {}, keeping only the itemId in charge", itemId));
   }
 
   private Item getItem(Charge charge, JsonObject instance) {
@@ -951,12 +1398,6 @@ public class PatronServicesResourceImpl implements Patron {
     return getItem(itemId, composite);
   }
 
-  private Account updateItem(Charge charge, Item item, Account account) {
-    charge.withItem(item);
-
-    return account;
-  }
-
   private Map<String, String> getLimitAndOffsetParams(int limit, int offset, boolean includeItem) {
     if (!includeItem || limit == 0) {
       return Map.of(
@@ -972,36 +1413,11 @@ public class PatronServicesResourceImpl implements Patron {
   }
 
   private AllowedServicePointsPerItem getAllowedServicePointsPerItem(JsonObject body) {
-    Set<AllowedServicePoint> allowedSpSet = collectAllowedServicePoints(body);
+    Set<AllowedServicePoint> allowedSpSet = AllowedServicePointsService.collect(body);
 
     return new AllowedServicePointsPerItem().withAllowedServicePoints(allowedSpSet);
   }
 
-  private AllowedServicePoints getAllowedServicePoints(JsonObject body) {
-    Set<AllowedServicePoint> allowedSpSet = collectAllowedServicePoints(body);
-
-    return new AllowedServicePoints().withAllowedServicePoints(allowedSpSet);
-  }
-
-  private Set<AllowedServicePoint> collectAllowedServicePoints(JsonObject body) {
-    return Stream.of(body.getJsonArray("Page"),
-        body.getJsonArray("Hold"), body.getJsonArray("Recall"))
-      .filter(Objects::nonNull)
-      .flatMap(JsonArray::stream)
-      .map(JsonObject.class::cast)
-      .map(sp -> new AllowedServicePoint()
-        .withId(sp.getString("id"))
-        .withName(sp.getString("name"))
-        .withDiscoveryName(sp.getString("discoveryDisplayName")))
-      .filter(distinctBy(AllowedServicePoint::getId))
-      .collect(Collectors.toSet());
-  }
-
-  public static <T> Predicate<T> distinctBy(Function<? super T, ?> keyFunction) {
-    Set<Object> result = ConcurrentHashMap.newKeySet();
-    return o -> result.add(keyFunction.apply(o));
-  }
-
   private Future<Response> handleError(Throwable throwable) {
     Future<Response> result;
 
@@ -1338,4 +1754,16 @@ public class PatronServicesResourceImpl implements Patron {
       ? CIRCULATION_BFF_ALLOWED_SERVICE_POINTS_URL_PATH
       : CIRCULATION_REQUESTS_ALLOWED_SERVICE_POINTS_URL_PATH;
   }
+
+  /**
+   * How {@code GET /patron/account/{id}} fetches the account, see the
+   * {@code PATRON_ACCOUNT_*} settings
+   *
+   * @param parallelUserLookup whether the lists are requested together with the user
+   * @param partialResults whether the sections that complete within their deadline
+   * are returned when the others do not
+   * @param sectionTimeoutMs deadline of each section when partial results are enabled
+   */
+  record AccountOptions(boolean parallelUserLookup, boolean partialResults,
+    long sectionTimeoutMs) { }
 }
@@ -1,6 +1,7 @@
 package org.folio.rest.impl;
 
 import io.vertx.core.json.JsonObject;
+import org.folio.metrics.StageTimings;
 import org.folio.rest.jaxrs.model.Hold;
 
 public class RequestContext {
@@ -12,10 +13,10 @@ public class RequestContext {
   private JsonObject user;
   private JsonObject item;
   private RequestTypeParameters requestTypeParams;
-  private JsonObject requestPolicyId ;
   private RequestPolicy requestPolicy;
   private RequestType requestType;
   private JsonObject holdRequest;
+  private final StageTimings stageTimings = new StageTimings();
 
   public RequestContext(boolean isEcsTlrFeatureEnabled, String patronId, String itemId, Hold hold) {
     this.isEcsTlrFeatureEnabled = isEcsTlrFeatureEnabled;
@@ -40,6 +41,10 @@ public class RequestContext {
     return hold;
   }
 
+  public StageTimings getStageTimings() {
+    return stageTimings;
+  }
+
   public JsonObject getUser() {
     return user;
   }
@@ -87,15 +92,6 @@ public class RequestContext {
     return this;
   }
 
-  public JsonObject getRequestPolicyId() {
-    return requestPolicyId;
-  }
-
-  public RequestContext setRequestPolicyId(JsonObject requestPolicyId) {
-    this.requestPolicyId = requestPolicyId;
-    return this;
-  }
-
   public RequestPolicy getRequestPolicy() {
     return requestPolicy;
   }
@@ -22,7 +22,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-import org.folio.integration.http.ResponseInterpreter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.integration.http.VertxOkapiHttpClient;
 import org.folio.patron.rest.exceptions.ValidationException;
 import org.folio.rest.jaxrs.model.Hold;
@@ -32,18 +33,19 @@ import org.joda.time.DateTimeZone;
 import io.vertx.core.json.JsonObject;
 
 class RequestObjectFactory {
+  private static final Logger logger = LogManager.getLogger();
   private final Map<String, String> okapiHeaders;
-  private final VertxOkapiHttpClient httpClient;
   private final ItemRepository itemRepository;
   private final UserRepository userRepository;
   private final HoldingsRecordRepository holdingsRecordRepository;
+  private final RequestPolicyService requestPolicyService;
 
   RequestObjectFactory(VertxOkapiHttpClient httpClient, Map<String, String> okapiHeaders) {
     this.okapiHeaders = okapiHeaders;
-    this.httpClient = httpClient;
     this.itemRepository = new ItemRepository(httpClient);
     this.userRepository = new UserRepository(httpClient);
     this.holdingsRecordRepository = new HoldingsRecordRepository(httpClient);
+    this.requestPolicyService = new RequestPolicyService(httpClient, okapiHeaders);
   }
 
   CompletableFuture<RequestContext> createRequestByItem(boolean isEcsTlrFeatureEnabled, String patronId, String itemId, Hold entity) {
@@ -83,11 +85,21 @@ class RequestObjectFactory {
       return completedFuture(context);
     }
 
-    return completedFuture(context)
-      .thenCompose(this::fetchItem)
-      .thenCompose(this::fetchInstanceId)
-      .thenCompose(this::fetchUser)
-      .thenCompose(this::fetchRequestType);
+    // the user does not depend on the item, the request policy depends on both
+    // and the instance id only on the item
+    final var timings = context.getStageTimings();
+    final var item = timings.time("item", () -> fetchItem(context));
+    final var user = timings.time("user", () -> fetchUser(context));
+    final var instanceId = item
+      .thenCompose(notUsed -> timings.time("holdingsRecord", () -> fetchInstanceId(context)));
+    final var requestType = item.thenCombine(user, (notUsed, alsoNotUsed) -> context)
+      .thenCompose(notUsed -> timings.time("requestPolicy", () -> fetchRequestType(context)));
+
+    // failures of the item and holdings record lookups take precedence, as when
+    // the stages ran one after another
+    return instanceId.thenCompose(notUsed -> requestType)
+      .whenComplete((notUsed, throwable) ->
+        logger.debug("resolveRequestType:: stage timings for item {}: {}", context.getItemId(), timings));
   }
 
   private CompletableFuture<RequestContext> fetchItem(RequestContext requestContext) {
@@ -112,9 +124,7 @@ class RequestObjectFactory {
       requestContext.setRequestType(RequestType.PAGE);
     }
     return completedFuture(createRequestPolicyIdCriteria(requestContext))
-      .thenCompose(this::lookupRequestPolicyId)
-      .thenCompose(this::getRequestPolicy)
-      .thenApply(context -> RequestPolicy.from(context.getRequestPolicyId()))
+      .thenCompose(context -> requestPolicyService.getRequestPolicy(context.getRequestTypeParams()))
       .thenApply(requestContext::setRequestPolicy)
       .thenApply(this::getRequestType)
       .thenApply(requestContext::setRequestType);
@@ -142,27 +152,6 @@ class RequestObjectFactory {
       .orElse(null);
   }
 
-  private CompletableFuture<RequestContext> lookupRequestPolicyId(RequestContext requestContext) {
-    RequestTypeParameters criteria = requestContext.getRequestTypeParams();
-
-    final var queryParameters = Map.of(
-      "item_type_id", criteria.getItemMaterialTypeId(),
-      "loan_type_id", criteria.getItemLoanTypeId(),
-      "patron_type_id", criteria.getPatronGroupId(),
-      "location_id", criteria.getItemLocationId());
-
-    return httpClient.get("/circulation/rules/request-policy", queryParameters, okapiHeaders)
-      .thenApply(ResponseInterpreter::verifyAndExtractBody)
-      .thenApply(requestContext::setRequestPolicyId);
-  }
-
-  private CompletableFuture<RequestContext> getRequestPolicy(RequestContext requestContext) {
-    return httpClient.get("/request-policy-storage/request-policies/" + requestContext.getRequestPolicyId().getString("requestPolicyId"),
-        Map.of(), okapiHeaders)
-      .thenApply(ResponseInterpreter::verifyAndExtractBody)
-      .thenApply(requestContext::setRequestPolicyId);
-  }
-
   private RequestType getRequestType(RequestContext requestContext) {
     return requestContext.getRequestPolicy().getRequestTypes().stream()
       .filter(aRequestType -> RequestTypeItemStatusWhiteList
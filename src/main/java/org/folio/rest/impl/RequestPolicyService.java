@@ -0,0 +1,95 @@
+package org.folio.rest.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cache.ExpiringAsyncCache;
+import org.folio.cache.TenantScopedKey;
+import org.folio.config.ModuleConfiguration;
+import org.folio.integration.http.ResponseInterpreter;
+import org.folio.integration.http.VertxOkapiHttpClient;
+import org.folio.metrics.ModuleMetrics;
+
+/**
+ * Resolves the request policy that applies to an item and a patron. Both the
+ * outcome of the circulation rules (criteria to policy id) and the policies
+ * themselves (policy id to policy) are cached, as they change rarely.
+ */
+class RequestPolicyService {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String REQUEST_POLICY_ID_KEY = "requestPolicyId";
+  private static final int MAX_CACHED_CRITERIA = 10_000;
+  private static final int MAX_CACHED_POLICIES = 1000;
+
+  private static final ExpiringAsyncCache<TenantScopedKey, String> REQUEST_POLICY_ID_CACHE =
+    ModuleMetrics.bindCache(new ExpiringAsyncCache<>("request-policy-id",
+      ModuleConfiguration.getLong("REQUEST_POLICY_CACHE_TTL_SECONDS", 60),
+      TimeUnit.SECONDS, MAX_CACHED_CRITERIA));
+
+  private static final ExpiringAsyncCache<TenantScopedKey, RequestPolicy> REQUEST_POLICY_CACHE =
+    ModuleMetrics.bindCache(new ExpiringAsyncCache<>("request-policy",
+      ModuleConfiguration.getLong("REQUEST_POLICY_CACHE_TTL_SECONDS", 60),
+      TimeUnit.SECONDS, MAX_CACHED_POLICIES));
+
+  private final VertxOkapiHttpClient httpClient;
+  private final Map<String, String> okapiHeaders;
+
+  RequestPolicyService(VertxOkapiHttpClient httpClient, Map<String, String> okapiHeaders) {
+    this.httpClient = httpClient;
+    this.okapiHeaders = okapiHeaders;
+  }
+
+  CompletableFuture<RequestPolicy> getRequestPolicy(RequestTypeParameters criteria) {
+    final var criteriaKey = TenantScopedKey.of(okapiHeaders, Arrays.asList(
+      criteria.getItemMaterialTypeId(), criteria.getItemLoanTypeId(),
+      criteria.getPatronGroupId(), criteria.getItemLocationId()));
+
+    return REQUEST_POLICY_ID_CACHE.get(criteriaKey, () -> fetchRequestPolicyId(criteria))
+      .thenCompose(requestPolicyId -> REQUEST_POLICY_CACHE.get(
+        TenantScopedKey.of(okapiHeaders, requestPolicyId),
+        () -> fetchRequestPolicy(requestPolicyId)));
+  }
+
+  /**
+   * Drops all cached request policies of the tenant, so that changes of the
+   * circulation rules or policies apply immediately
+   */
+  static void invalidate(String tenantId) {
+    logger.info("invalidate:: dropping cached request policies of tenant {}", tenantId);
+    REQUEST_POLICY_ID_CACHE.invalidateIf(key -> key.belongsTo(tenantId));
+    REQUEST_POLICY_CACHE.invalidateIf(key -> key.belongsTo(tenantId));
+  }
+
+  static ExpiringAsyncCache<TenantScopedKey, String> getRequestPolicyIdCache() {
+    return REQUEST_POLICY_ID_CACHE;
+  }
+
+  static ExpiringAsyncCache<TenantScopedKey, RequestPolicy> getRequestPolicyCache() {
+    return REQUEST_POLICY_CACHE;
+  }
+
+  private CompletableFuture<String> fetchRequestPolicyId(RequestTypeParameters criteria) {
+    final var queryParameters = Map.of(
+      "item_type_id", criteria.getItemMaterialTypeId(),
+      "loan_type_id", criteria.getItemLoanTypeId(),
+      "patron_type_id", criteria.getPatronGroupId(),
+      "location_id", criteria.getItemLocationId());
+
+    return httpClient.get("/circulation/rules/request-policy", queryParameters, okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBody)
+      .thenApply(body -> body.getString(REQUEST_POLICY_ID_KEY));
+  }
+
+  private CompletableFuture<RequestPolicy> fetchRequestPolicy(String requestPolicyId) {
+    logger.info("fetchRequestPolicy:: fetching request policy {}", requestPolicyId);
+    return httpClient.get("/request-policy-storage/request-policies/" + requestPolicyId,
+        Map.of(), okapiHeaders)
+      .thenApply(ResponseInterpreter::verifyAndExtractBody)
+      .thenApply(RequestPolicy::from);
+  }
+}
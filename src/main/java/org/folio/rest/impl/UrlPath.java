@@ -12,6 +12,7 @@ public class UrlPath {
   public static final String CIRCULATION_SETTINGS_STORAGE_URL_PATH =
     "/circulation-settings-storage/circulation-settings";
   public static final String ECS_TLR_SETTINGS_URL_PATH ="/tlr/settings";
+  public static final String LOCALE_URL_PATH = "/locale";
   public static final String CIRCULATION_BFF_CREATE_ECS_REQUEST_EXTERNAL =
     "/circulation-bff/create-ecs-request-external";
 
@@ -0,0 +1,127 @@
+package org.folio.cache;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringAsyncCacheTest {
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void servesCachedValueUntilExpired() {
+    var cache = cache(10);
+
+    assertEquals("value-1", cache.get("key", this::load).join());
+    assertEquals("value-1", cache.get("key", this::load).join());
+    now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    assertEquals("value-2", cache.get("key", this::load).join());
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  void refreshesValueAheadOfExpiry() {
+    var cache = cache(10);
+
+    cache.get("key", this::load).join();
+    now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+
+    assertEquals("value-1", cache.get("key", this::load).join());
+    assertEquals("value-2", cache.get("key", this::load).join());
+    assertEquals(1, cache.getRefreshCount());
+  }
+
+  @Test
+  void concurrentMissesShareSingleLoad() {
+    var cache = cache(10);
+    var pending = new CompletableFuture<String>();
+
+    var first = cache.get("key", () -> {
+      loads.incrementAndGet();
+      return pending;
+    });
+    var second = cache.get("key", this::load);
+    second.cancel(false);
+    pending.complete("shared");
+
+    assertEquals("shared", first.join());
+    assertTrue(second.isCancelled());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void failedLoadIsNotCached() {
+    var cache = cache(10);
+
+    var failed = cache.get("key", () -> failedFuture(new IllegalStateException("boom")));
+
+    assertThrows(ExecutionException.class, failed::get);
+    assertEquals("value-1", cache.get("key", this::load).join());
+    assertEquals(1, cache.getLoadFailureCount());
+  }
+
+  @Test
+  void disabledCacheAlwaysLoads() {
+    var cache = cache(0);
+
+    cache.get("key", this::load).join();
+    cache.get("key", this::load).join();
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void sizeIsBounded() {
+    var cache = new ExpiringAsyncCache<String, String>("test", 10, TimeUnit.SECONDS, 2, now::get);
+
+    cache.get("first", this::load).join();
+    cache.get("second", this::load).join();
+    cache.get("third", this::load).join();
+
+    assertTrue(cache.size() <= 2);
+  }
+
+  @Test
+  void invalidatedValueIsReloaded() {
+    var cache = cache(10);
+
+    cache.get("key", this::load).join();
+    cache.invalidate("key");
+
+    assertEquals("value-2", cache.get("key", this::load).join());
+  }
+
+  @Test
+  void loadInFlightWhenInvalidatedIsNotCached() {
+    var cache = cache(10);
+    var pending = new CompletableFuture<String>();
+
+    var stale = cache.get("key", () -> pending);
+    cache.invalidate("key");
+    pending.complete("stale");
+
+    assertEquals("stale", stale.join());
+    assertEquals(0, cache.size());
+    assertEquals("value-1", cache.get("key", this::load).join());
+  }
+
+  private ExpiringAsyncCache<String, String> cache(long ttlSeconds) {
+    return new ExpiringAsyncCache<>("test", ttlSeconds, TimeUnit.SECONDS, 100, now::get);
+  }
+
+  private CompletableFuture<String> load() {
+    return completedFuture("value-" + loads.incrementAndGet());
+  }
+}
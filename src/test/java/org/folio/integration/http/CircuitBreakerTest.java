@@ -0,0 +1,106 @@
+package org.folio.integration.http;
+
+import static org.folio.integration.http.CircuitBreaker.State.CLOSED;
+import static org.folio.integration.http.CircuitBreaker.State.HALF_OPEN;
+import static org.folio.integration.http.CircuitBreaker.State.OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+  private final AtomicLong now = new AtomicLong();
+  private final CircuitBreaker circuitBreaker =
+    new CircuitBreaker("inventory", 4, 4, 50, 1000, 2, now::get);
+
+  @Test
+  void opensWhenFailureRateReachesThreshold() {
+    call(true);
+    call(false);
+    call(true);
+    assertEquals(CLOSED, circuitBreaker.getState());
+
+    call(false);
+
+    assertEquals(OPEN, circuitBreaker.getState());
+    assertNull(circuitBreaker.tryAcquirePermission());
+    assertEquals(1, circuitBreaker.getRejectedCallCount());
+  }
+
+  @Test
+  void staysClosedBelowThreshold() {
+    call(true);
+    call(true);
+    call(true);
+    call(false);
+    call(true);
+
+    assertEquals(CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  void closesAfterSuccessfulProbes() {
+    open();
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+    final var firstProbe = circuitBreaker.tryAcquirePermission();
+    assertNotNull(firstProbe);
+    assertEquals(HALF_OPEN, circuitBreaker.getState());
+    final var secondProbe = circuitBreaker.tryAcquirePermission();
+    assertNotNull(secondProbe);
+    assertNull(circuitBreaker.tryAcquirePermission());
+
+    circuitBreaker.onSuccess(firstProbe);
+    circuitBreaker.onSuccess(secondProbe);
+
+    assertEquals(CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  void doesNotCountCallsStartedBeforeItOpenedAsProbes() {
+    final var startedWhileClosed = circuitBreaker.tryAcquirePermission();
+    final var alsoStartedWhileClosed = circuitBreaker.tryAcquirePermission();
+    open();
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+    assertNotNull(circuitBreaker.tryAcquirePermission());
+    assertEquals(HALF_OPEN, circuitBreaker.getState());
+
+    circuitBreaker.onSuccess(startedWhileClosed);
+    circuitBreaker.onSuccess(alsoStartedWhileClosed);
+
+    assertEquals(HALF_OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  void reopensWhenProbeFails() {
+    open();
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+    circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+
+    assertEquals(OPEN, circuitBreaker.getState());
+    assertNull(circuitBreaker.tryAcquirePermission());
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      call(false);
+    }
+    assertEquals(OPEN, circuitBreaker.getState());
+  }
+
+  private void call(boolean succeeds) {
+    final var permission = circuitBreaker.tryAcquirePermission();
+    assertNotNull(permission);
+    if (succeeds) {
+      circuitBreaker.onSuccess(permission);
+    } else {
+      circuitBreaker.onFailure(permission);
+    }
+  }
+}
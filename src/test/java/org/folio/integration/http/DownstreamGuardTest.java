@@ -0,0 +1,81 @@
+package org.folio.integration.http;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class DownstreamGuardTest {
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  void groupsRequestsByFirstPathSegment() {
+    assertEquals("inventory", DownstreamGuard.downstreamName("/inventory/items/1"));
+    assertEquals("circulation-bff", DownstreamGuard.downstreamName("/circulation-bff/requests"));
+    assertEquals("locale", DownstreamGuard.downstreamName("/locale"));
+  }
+
+  @Test
+  void rejectsCallsBeyondBulkheadSize() {
+    var guard = new DownstreamGuard(name -> null, 1);
+    var pending = new CompletableFuture<Response>();
+
+    guard.call("diku", "/inventory/items", () -> pending);
+    var rejected = guard.call("diku", "/inventory/instances", this::succeed).join();
+    var otherDownstream = guard.call("diku", "/users/1", this::succeed).join();
+
+    assertEquals(503, rejected.statusCode);
+    assertEquals(200, otherDownstream.statusCode);
+    assertEquals(1, calls.get());
+
+    pending.complete(new Response(200, "{}"));
+    assertEquals(200, guard.call("diku", "/inventory/instances", this::succeed).join().statusCode);
+  }
+
+  @Test
+  void failsFastOnceCircuitBreakerOpens() {
+    var guard = new DownstreamGuard(name -> new CircuitBreaker(name, 2, 2, 50, 60_000, 1), 0);
+
+    guard.call("diku", "/inventory/items", this::fail).join();
+    guard.call("diku", "/inventory/items", this::fail).join();
+    var rejected = guard.call("diku", "/inventory/items", this::succeed).join();
+
+    assertEquals(503, rejected.statusCode);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void keepsTheCircuitBreakersOfEachTenantApart() {
+    var guard = new DownstreamGuard(name -> new CircuitBreaker(name, 2, 2, 50, 60_000, 1), 0);
+
+    guard.call("diku", "/inventory/items", this::fail).join();
+    guard.call("diku", "/inventory/items", this::fail).join();
+
+    assertEquals(503, guard.call("diku", "/inventory/items", this::succeed).join().statusCode);
+    assertEquals(200, guard.call("consortium", "/inventory/items", this::succeed).join().statusCode);
+    assertEquals(2, guard.getDownstreams().size());
+  }
+
+  @Test
+  void sharesTheBulkheadOfADownstreamBetweenTenants() {
+    var guard = new DownstreamGuard(name -> null, 1);
+
+    guard.call("diku", "/inventory/items", CompletableFuture::new);
+
+    assertEquals(503, guard.call("consortium", "/inventory/items", this::succeed).join().statusCode);
+    assertEquals(200, guard.call("consortium", "/users/1", this::succeed).join().statusCode);
+  }
+
+  private CompletableFuture<Response> succeed() {
+    calls.incrementAndGet();
+    return completedFuture(new Response(200, "{}"));
+  }
+
+  private CompletableFuture<Response> fail() {
+    calls.incrementAndGet();
+    return completedFuture(new Response(504, "Gateway Timeout"));
+  }
+}
@@ -0,0 +1,145 @@
+package org.folio.integration.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Vertx;
+
+class FanOutLimiterTest {
+  private final List<String> started = new ArrayList<>();
+  private final List<CompletableFuture<String>> pending = new ArrayList<>();
+
+  @Test
+  void limitsTheRequestsOfOnePatronRequest() {
+    final var fanOut = new FanOutLimiter("test", 2, 100, 100).forRequest("diku");
+
+    final var results = List.of(submit(fanOut, "a"), submit(fanOut, "b"), submit(fanOut, "c"));
+
+    assertEquals(List.of("a", "b"), started);
+    completeFirst();
+    assertEquals(List.of("a", "b", "c"), started);
+    completeFirst();
+    completeFirst();
+    assertEquals("a", results.get(0).join());
+    assertEquals("c", results.get(2).join());
+  }
+
+  @Test
+  void tenantsTakeTurnsForTheSharedSlots() {
+    final var limiter = new FanOutLimiter("test", 10, 1, 100);
+    final var busyTenant = limiter.forRequest("busy");
+    final var otherTenant = limiter.forRequest("other");
+
+    submit(busyTenant, "busy-1");
+    submit(busyTenant, "busy-2");
+    submit(busyTenant, "busy-3");
+    submit(otherTenant, "other-1");
+
+    assertEquals(1, limiter.getInFlight());
+    assertEquals(3, limiter.getWaiting());
+
+    completeFirst();
+    completeFirst();
+    completeFirst();
+
+    assertEquals(List.of("busy-1", "busy-2", "other-1", "busy-3"), started);
+    assertEquals(0, limiter.getWaiting());
+  }
+
+  @Test
+  void releasesTheSlotOfAFailedRequest() {
+    final var limiter = new FanOutLimiter("test", 1, 1, 100);
+    final var fanOut = limiter.forRequest("diku");
+
+    final var failed = fanOut.submit(() -> { throw new IllegalStateException("no client"); });
+    final var next = submit(fanOut, "next");
+
+    assertThrows(CompletionException.class, failed::join);
+    assertTrue(started.contains("next"));
+    completeFirst();
+    assertEquals("next", next.join());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void rejectsTheRequestsOfATenantWithTooManyWaiting() {
+    final var limiter = new FanOutLimiter("test", 10, 1, 1);
+    final var busyTenant = limiter.forRequest("busy");
+    final var otherTenant = limiter.forRequest("other");
+
+    submit(busyTenant, "busy-1");
+    submit(busyTenant, "busy-2");
+    final var rejected = submit(busyTenant, "busy-3");
+    final var other = submit(otherTenant, "other-1");
+
+    final var failure = assertThrows(CompletionException.class, rejected::join);
+    assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    assertFalse(limiter.hasRoomFor("busy"));
+    assertFalse(limiter.hasRoomFor("other"));
+    assertTrue(limiter.hasRoomFor("idle"));
+
+    completeFirst();
+    completeFirst();
+    completeFirst();
+
+    assertEquals(List.of("busy-1", "busy-2", "other-1"), started);
+    assertEquals("other-1", other.join());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void startsTheWaitingRequestsOnTheContextOfTheirPatronRequest() {
+    final var vertx = Vertx.vertx();
+    try {
+      final var limiter = new FanOutLimiter("test", 1, 1, 10_000);
+      final var context = vertx.getOrCreateContext();
+      final var fanOut = new CompletableFuture<FanOutLimiter.FanOut>();
+      context.runOnContext(notUsed -> fanOut.complete(limiter.forRequest("diku")));
+
+      final var first = new CompletableFuture<String>();
+      final var results = new ArrayList<CompletableFuture<String>>();
+      results.add(fanOut.join().submit(() -> first));
+      for (int i = 0; i < 5_000; i++) {
+        final var name = String.valueOf(i);
+        results.add(fanOut.join().submit(() -> CompletableFuture.completedFuture(name)));
+      }
+
+      // each request completes right away, starting the next one from its
+      // completion would nest a call for each request
+      first.complete("first");
+
+      CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+        .get(10, TimeUnit.SECONDS);
+      assertEquals("4999", results.get(results.size() - 1).join());
+      assertEquals(0, limiter.getInFlight());
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private CompletableFuture<String> submit(FanOutLimiter.FanOut fanOut, String name) {
+    return fanOut.submit(() -> {
+      started.add(name);
+      final var response = new CompletableFuture<String>();
+      pending.add(response);
+      return response.thenApply(notUsed -> name);
+    });
+  }
+
+  private void completeFirst() {
+    pending.remove(0).complete(null);
+  }
+}
@@ -1,10 +1,15 @@
 package org.folio.integration.http;
 
+import static org.folio.integration.http.ResponseInterpreter.verifyAndExtractBody;
+import static org.folio.integration.http.ResponseInterpreter.verifyAndExtractBodyAs;
 import static org.folio.integration.http.ResponseInterpreter.verifyAndExtractBodyNoThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import org.folio.patron.rest.models.LoansCollection;
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 
 class ResponseInterpreterTest {
@@ -14,5 +19,28 @@ class ResponseInterpreterTest {
     JsonObject result = verifyAndExtractBodyNoThrow(new Response(404, "Not Found"));
     assertNull(result, "extractBody should return null for non-successful response when throwOnError is false");
   }
-}
 
+  @Test
+  void testExtractBodyDecodesBufferToJson() {
+    JsonObject result = verifyAndExtractBody(new Response(200,
+      Buffer.buffer("{\"message\": \"hello\"}")));
+    assertEquals("hello", result.getString("message"));
+  }
+
+  @Test
+  void testExtractBodyReturnsNullForBlankBody() {
+    assertNull(verifyAndExtractBody(new Response(200, Buffer.buffer(" \r\n"))));
+    assertNull(verifyAndExtractBody(new Response(204, (Buffer) null)));
+  }
+
+  @Test
+  void testExtractBodyAsDecodesOnlyTheDeclaredFields() {
+    LoansCollection result = verifyAndExtractBodyAs(new Response(200, Buffer.buffer(
+      "{\"loans\": [{\"id\": \"1\", \"action\": \"checkedout\", \"item\": {\"title\": \"A\", " +
+        "\"status\": {\"name\": \"Checked out\"}}}], \"totalRecords\": 1}")), LoansCollection.class);
+
+    assertEquals(1, result.totalRecords());
+    assertEquals("1", result.loans().get(0).id());
+    assertEquals("A", result.loans().get(0).item().title());
+  }
+}
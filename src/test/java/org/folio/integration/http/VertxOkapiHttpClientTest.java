@@ -1,5 +1,6 @@
 package org.folio.integration.http;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
 import static com.github.tomakehurst.wiremock.client.WireMock.created;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
@@ -21,10 +22,12 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
+import org.folio.metrics.ServerTiming;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -97,11 +100,80 @@ class VertxOkapiHttpClientTest {
     final var response = getCompleted.get(2, SECONDS);
 
     assertThat(response.statusCode, is(HTTP_OK.toInt()));
-    assertThat(asJson(response.body).getString("message"), is("hello"));
+    assertThat(asJson(response.getBody()).getString("message"), is("hello"));
 
     assertThat(countOfRequestsMadeTo(getEndpoint), is(1));
   }
 
+  @SneakyThrows
+  @Test
+  void doesNotPassTheServerTimingRequestHeaderOn() {
+    final var getEndpoint = matchingFolioHeaders(get(urlPathEqualTo("/record")))
+      .withHeader(ServerTiming.REQUEST_HEADER, absent());
+
+    fakeWebServer.stubFor(getEndpoint.willReturn(okJson(dummyJsonResponseBody())));
+
+    final var okapiHeaders = new HashMap<>(Headers.toMap(fakeWebServer.baseUrl()));
+    okapiHeaders.put(ServerTiming.REQUEST_HEADER, "true");
+
+    final var response = createClient().get("/record", okapiHeaders).get(2, SECONDS);
+
+    assertThat(response.statusCode, is(HTTP_OK.toInt()));
+    assertThat(countOfRequestsMadeTo(getEndpoint), is(1));
+  }
+
+  @SneakyThrows
+  @Test
+  void tracksRequestsInFlight() {
+    final var getEndpoint = matchingFolioHeaders(get(urlPathEqualTo("/record")));
+
+    fakeWebServer.stubFor(getEndpoint.willReturn(okJson(dummyJsonResponseBody())));
+
+    final var client = createClient();
+
+    client.get("/record", Headers.toMap(fakeWebServer.baseUrl())).get(2, SECONDS);
+
+    final var usage = client.getUsage();
+    assertThat(usage.getRequestCount(), is(1L));
+    assertThat(usage.getInFlightRequests(), is(0));
+    assertThat(usage.getFailureCount(), is(0L));
+  }
+
+  @SneakyThrows
+  @Test
+  void identicalConcurrentGetsShareOneRequestWhenCoalescing() {
+    final var getEndpoint = matchingFolioHeaders(get(urlPathEqualTo("/record")));
+
+    fakeWebServer.stubFor(getEndpoint.willReturn(okJson(dummyJsonResponseBody())
+      .withFixedDelay(500)));
+
+    final var client = new VertxOkapiHttpClient(WebClient.create(vertx),
+      new HttpClientUsage(), DownstreamGuard.disabled(), true);
+
+    final var first = client.get("/record", Headers.toMap(fakeWebServer.baseUrl()));
+    final var second = client.get("/record", Headers.toMap(fakeWebServer.baseUrl()));
+
+    assertThat(asJson(first.get(2, SECONDS).getBody()).getString("message"), is("hello"));
+    assertThat(asJson(second.get(2, SECONDS).getBody()).getString("message"), is("hello"));
+
+    assertThat(countOfRequestsMadeTo(getEndpoint), is(1));
+    assertThat(client.getUsage().getCoalescedRequestCount(), is(1L));
+  }
+
+  @Test
+  void getThatCannotBeSentIsNotLeftInFlightWhenCoalescing() {
+    final var client = new VertxOkapiHttpClient(WebClient.create(vertx),
+      new HttpClientUsage(), DownstreamGuard.disabled(), true);
+    final var headers = Headers.toMap("not a url");
+
+    final var first = client.get("/record", headers);
+    final var second = client.get("/record", headers);
+
+    assertThrows(ExecutionException.class, () -> first.get(2, SECONDS));
+    assertThrows(ExecutionException.class, () -> second.get(2, SECONDS));
+    assertThat(client.getUsage().getCoalescedRequestCount(), is(0L));
+  }
+
   @SneakyThrows
   @Test
   void canGetJsonUsingQueryParameters() {
@@ -123,7 +195,7 @@ class VertxOkapiHttpClientTest {
     final var response = getCompleted.get(2, SECONDS);
 
     assertThat(response.statusCode, is(HTTP_OK.toInt()));
-    assertThat(asJson(response.body).getString("message"), is("hello"));
+    assertThat(asJson(response.getBody()).getString("message"), is("hello"));
 
     assertThat(countOfRequestsMadeTo(getEndpoint), is(1));
   }
@@ -147,7 +219,7 @@ class VertxOkapiHttpClientTest {
     final var response = postCompleted.get(2, SECONDS);
 
     assertThat(response.statusCode, is(HTTP_CREATED.toInt()));
-    assertThat(asJson(response.body).getString("message"), is("hello"));
+    assertThat(asJson(response.getBody()).getString("message"), is("hello"));
 
     assertThat(countOfRequestsMadeTo(postEndpoint), is(1));
   }
@@ -169,7 +241,7 @@ class VertxOkapiHttpClientTest {
     final var response = putCompleted.get(2, SECONDS);
 
     assertThat(response.statusCode, is(HTTP_NO_CONTENT.toInt()));
-    assertThat(response.body, is(nullValue()));
+    assertThat(response.getBody(), is(nullValue()));
 
     assertThat(countOfRequestsMadeTo(putEndpoint), is(1));
   }
@@ -0,0 +1,152 @@
+package org.folio.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.folio.patron.utils.Utils.readMockFile;
+import static org.folio.repository.MediatedRequestsRepository.CIRCULATION_BFF_BATCH_REQUESTS;
+import static org.folio.rest.impl.UrlPath.LOCALE_URL_PATH;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Stands in for Okapi and the modules behind it. Every endpoint answers with the
+ * mock data of the resource tests after a fixed delay, the collections of loans,
+ * requests and fees/fines are made of {@code records} copies of the last of their
+ * mock records.
+ * The delay of each endpoint is {@code loadtest.latency.<endpoint>} milliseconds,
+ * or {@code loadtest.latency} when not set.
+ */
+class FakeOkapi {
+  private static final String MOCK_DATA_FOLDER = "PatronServicesResourceImpl";
+
+  private final WireMockServer server = new WireMockServer(options()
+    .dynamicPort()
+    .containerThreads(LoadTestSettings.getInt("loadtest.fakeOkapiThreads", 200))
+    .asynchronousResponseEnabled(true)
+    .asynchronousResponseThreads(LoadTestSettings.getInt("loadtest.fakeOkapiThreads", 200))
+    .disableRequestJournal());
+
+  private final int records;
+  private final Map<String, Integer> latencies = new LinkedHashMap<>();
+
+  FakeOkapi(int records) {
+    this.records = records;
+  }
+
+  void start() {
+    server.start();
+
+    stub("users", get(urlPathMatching("/users/[^/]+")), "user_active.json");
+    stub("loans", get(urlPathEqualTo("/circulation/loans")),
+      collection("loans_all_active.json", "loans"));
+    stub("requests", get(urlPathEqualTo("/circulation/requests")),
+      collection("holds_all_active.json", "requests"));
+    stub("requests", post(urlPathEqualTo("/circulation/requests")), created("holds_create.json"));
+    stub("accounts", get(urlPathEqualTo("/accounts")),
+      collection("accounts_all_active.json", "accounts"));
+
+    stub("inventory", get(urlPathMatching("/inventory/items/[^/]+")), "item_checkedout.json");
+    stub("inventory", get(urlPathEqualTo("/inventory/items")),
+      singleton("item_book1.json", "items"));
+    stub("inventory", get(urlPathMatching("/holdings-storage/holdings/[^/]+")),
+      "holdingsRecord.json");
+    stub("inventory", get(urlPathEqualTo("/holdings-storage/holdings")),
+      singleton("holdingsRecord.json", "holdingsRecords"));
+    stub("inventory", get(urlPathEqualTo("/inventory/instances")),
+      singleton("instance_book1.json", "instances"));
+    stub("inventory", get(urlPathMatching("/inventory/instances/[^/]+")),
+      "inventory_instance_response.json");
+
+    stub("requestPolicies", get(urlPathEqualTo("/circulation/rules/request-policy")),
+      "requestPolicyId_all.json");
+    stub("requestPolicies", get(urlPathMatching("/request-policy-storage/request-policies/[^/]+")),
+      "requestPolicy_all.json");
+
+    stub("settings", get(urlPathEqualTo(LOCALE_URL_PATH)), "localization_settings.json");
+    stub("settings", get(urlPathEqualTo("/tlr/settings")), "ecs_tlr_module_feature_disabled.json");
+    stub("settings", get(urlPathEqualTo("/circulation-settings-storage/circulation-settings")),
+      "circulation_storage_module_feature_disabled.json");
+
+    stub("allowedServicePoints",
+      get(urlPathEqualTo("/circulation/requests/allowed-service-points")),
+      "allowed_sp_mod_circulation_response.json");
+
+    stub("batchRequests", post(urlPathEqualTo(CIRCULATION_BFF_BATCH_REQUESTS)),
+      created("batch_request_response.json"));
+  }
+
+  void stop() {
+    server.stop();
+  }
+
+  String url() {
+    return server.baseUrl();
+  }
+
+  /**
+   * @return delay of each endpoint, in milliseconds
+   */
+  Map<String, Integer> latencies() {
+    return latencies;
+  }
+
+  private void stub(String endpoint, MappingBuilder request, String mockFile) {
+    stub(endpoint, request, ok(readMockFile(MOCK_DATA_FOLDER + "/" + mockFile)));
+  }
+
+  private void stub(String endpoint, MappingBuilder request, ResponseDefinitionBuilder response) {
+    final int latency = latencies.computeIfAbsent(endpoint, name -> LoadTestSettings.getInt(
+      "loadtest.latency." + name, LoadTestSettings.getInt("loadtest.latency", 20)));
+
+    server.stubFor(request.willReturn(response
+      .withHeader("Content-Type", "application/json")
+      .withFixedDelay(latency)));
+  }
+
+  private static ResponseDefinitionBuilder ok(String body) {
+    return aResponse().withStatus(200).withBody(body);
+  }
+
+  private static ResponseDefinitionBuilder created(String mockFile) {
+    return aResponse()
+      .withStatus(201)
+      .withBody(readMockFile(MOCK_DATA_FOLDER + "/" + mockFile));
+  }
+
+  private ResponseDefinitionBuilder collection(String mockFile, String collectionName) {
+    final JsonArray mockRecords = new JsonObject(readMockFile(MOCK_DATA_FOLDER + "/" + mockFile))
+      .getJsonArray(collectionName);
+    final JsonObject record = mockRecords.getJsonObject(mockRecords.size() - 1);
+
+    final var copies = new JsonArray();
+    for (int i = 0; i < records; i++) {
+      copies.add(record.copy().put("id", UUID.randomUUID().toString()));
+    }
+
+    return ok(new JsonObject()
+      .put(collectionName, copies)
+      .put("totalRecords", records)
+      .encode());
+  }
+
+  private static ResponseDefinitionBuilder singleton(String mockFile, String collectionName) {
+    return ok(new JsonObject()
+      .put(collectionName, new JsonArray()
+        .add(new JsonObject(readMockFile(MOCK_DATA_FOLDER + "/" + mockFile))))
+      .put("totalRecords", 1)
+      .encode());
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Records the latency of every request of a scenario and summarizes them with
+ * exact percentiles, as the number of requests of a run is small enough to keep
+ * them all.
+ */
+class LatencyRecorder {
+  private final String scenario;
+  private final long[] latencies;
+  private int count;
+  private int errors;
+  private long firstStart = Long.MAX_VALUE;
+  private long lastEnd = Long.MIN_VALUE;
+
+  LatencyRecorder(String scenario, int expectedRequests) {
+    this.scenario = scenario;
+    this.latencies = new long[expectedRequests];
+  }
+
+  /**
+   * @param intendedStart time the request should have been sent at, in nanoseconds.
+   * The latency is measured from it rather than from when it was actually sent, so
+   * that a stalled module is not hidden by requests queueing up in the load generator
+   */
+  synchronized void record(long intendedStart, long end, boolean succeeded) {
+    latencies[count++] = end - intendedStart;
+    if (!succeeded) {
+      errors++;
+    }
+    firstStart = Math.min(firstStart, intendedStart);
+    lastEnd = Math.max(lastEnd, end);
+  }
+
+  synchronized JsonObject summary() {
+    final long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+
+    final double elapsedSeconds = count == 0 ? 0 : (lastEnd - firstStart) / 1e9;
+
+    return new JsonObject()
+      .put("scenario", scenario)
+      .put("requests", count)
+      .put("errors", errors)
+      .put("elapsedSeconds", elapsedSeconds)
+      .put("throughput", elapsedSeconds == 0 ? 0 : (count - errors) / elapsedSeconds)
+      .put("latencyMs", new JsonObject()
+        .put("p50", percentile(sorted, 50))
+        .put("p99", percentile(sorted, 99))
+        .put("p99.9", percentile(sorted, 99.9))
+        .put("max", count == 0 ? 0 : toMillis(sorted[count - 1])));
+  }
+
+  synchronized int errors() {
+    return errors;
+  }
+
+  synchronized int count() {
+    return count;
+  }
+
+  /**
+   * Nearest-rank percentile, in milliseconds
+   */
+  static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+
+    final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return toMillis(sorted[Math.max(0, rank - 1)]);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
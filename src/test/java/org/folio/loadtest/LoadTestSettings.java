@@ -0,0 +1,24 @@
+package org.folio.loadtest;
+
+/**
+ * Settings of the load test, given as system properties, e.g.
+ * {@code mvn -Pload-test test -Dloadtest.rps=200}
+ */
+final class LoadTestSettings {
+
+  private LoadTestSettings() { }
+
+  static int getInt(String name, int defaultValue) {
+    final String value = System.getProperty(name);
+
+    return value == null || value.isBlank()
+      ? defaultValue
+      : Integer.parseInt(value.trim());
+  }
+
+  static String getString(String name, String defaultValue) {
+    final String value = System.getProperty(name);
+
+    return value == null || value.isBlank() ? defaultValue : value.trim();
+  }
+}
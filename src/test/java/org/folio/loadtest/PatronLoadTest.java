@@ -0,0 +1,228 @@
+package org.folio.loadtest;
+
+import static org.folio.patron.utils.Utils.readMockFile;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.postgres.testing.PostgresTesterContainer;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.tools.utils.NetworkUtils;
+import org.folio.support.OkapiHeaders;
+import org.folio.support.OkapiUrl;
+import org.folio.support.VertxModule;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import lombok.SneakyThrows;
+
+/**
+ * Drives the patron endpoints of the module at a fixed rate of requests against a
+ * fake Okapi, and writes the latencies and throughput of each scenario to
+ * {@code target/load-test/results.json}. Excluded from the regular build, run with
+ * {@code mvn -Pload-test test}.
+ *
+ * <p>Requests are sent on a fixed schedule whatever the response times are, and
+ * their latency is measured from the time they were due, so that the percentiles
+ * include the time requests would have waited for a slow module.
+ *
+ * <p>Settings, as system properties:
+ * <ul>
+ *   <li>{@code loadtest.rps}: requests per second of each scenario, 50 by default,
+ *   {@code loadtest.<scenario>.rps} for one scenario</li>
+ *   <li>{@code loadtest.durationSeconds}: recorded duration of each scenario, 30 by default</li>
+ *   <li>{@code loadtest.warmUpSeconds}: unrecorded run before each scenario, 5 by default</li>
+ *   <li>{@code loadtest.records}: loans, requests and fees/fines of the patron, 100 by default</li>
+ *   <li>{@code loadtest.latency}, {@code loadtest.latency.<endpoint>}: delay of the fake
+ *   Okapi, 20 ms by default, see {@link FakeOkapi}</li>
+ *   <li>{@code loadtest.scenarios}: comma separated scenarios to run, all by default</li>
+ *   <li>{@code loadtest.output}: path of the results file</li>
+ * </ul>
+ */
+@Tag("load")
+class PatronLoadTest {
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final String TENANT = "patronloadtest";
+  private static final String MOCK_DATA_FOLDER = "PatronServicesResourceImpl";
+  private static final String USER_ID = "1ec54964-70f0-44cc-bd19-2a892ea0d336";
+  private static final String ITEM_ID = "32e5757d-6566-466e-b69d-994eb33d2b73";
+  private static final String INSTANCE_ID = "f39fd3ca-e3fb-4cd9-8cf9-48e7e2c494e5";
+  private static final String ACCOUNT_PATH = "/patron/account/" + USER_ID;
+
+  private static final List<Scenario> SCENARIOS = List.of(
+    new Scenario("account", HttpMethod.GET,
+      ACCOUNT_PATH + "?includeLoans=true&includeHolds=true&includeCharges=true", null),
+    new Scenario("itemHold", HttpMethod.POST, ACCOUNT_PATH + "/item/" + ITEM_ID + "/hold",
+      mockBody("request_testPostPatronAccountByIdItemByItemIdHold.json")),
+    new Scenario("allowedServicePoints", HttpMethod.GET,
+      ACCOUNT_PATH + "/item/" + ITEM_ID + "/allowed-service-points", null),
+    new Scenario("batchRequest", HttpMethod.POST,
+      ACCOUNT_PATH + "/instance/" + INSTANCE_ID + "/batch-request", mockBody("batch_request.json")));
+
+  private static Vertx vertx;
+  private static VertxModule module;
+  private static OkapiHeaders okapiHeaders;
+  private static FakeOkapi fakeOkapi;
+  private static WebClient client;
+
+  @BeforeAll
+  @SneakyThrows
+  static void setUpClass() {
+    final int port = NetworkUtils.nextFreePort();
+
+    fakeOkapi = new FakeOkapi(LoadTestSettings.getInt("loadtest.records", 100));
+    fakeOkapi.start();
+
+    vertx = Vertx.vertx();
+    PostgresClient.setPostgresTester(new PostgresTesterContainer());
+    okapiHeaders = new OkapiHeaders(new OkapiUrl("http://localhost:" + port), TENANT, null);
+    module = new VertxModule(vertx);
+    module.deployModule(port)
+      .compose(notUsed -> module.enableModule(okapiHeaders, false, false))
+      .toCompletionStage().toCompletableFuture()
+      .get(2, TimeUnit.MINUTES);
+
+    client = WebClient.create(vertx,
+      new WebClientOptions().setDefaultHost("localhost").setDefaultPort(port),
+      new PoolOptions().setHttp1MaxSize(LoadTestSettings.getInt("loadtest.connections", 100)));
+  }
+
+  @AfterAll
+  @SneakyThrows
+  static void tearDownClass() {
+    client.close();
+    module.purgeModule(okapiHeaders)
+      .compose(notUsed -> {
+        PostgresClient.stopPostgresTester();
+        return vertx.close();
+      })
+      .toCompletionStage().toCompletableFuture()
+      .get(1, TimeUnit.MINUTES);
+    fakeOkapi.stop();
+  }
+
+  @Test
+  @SneakyThrows
+  void patronEndpointsUnderLoad() {
+    final int durationSeconds = LoadTestSettings.getInt("loadtest.durationSeconds", 30);
+    final int warmUpSeconds = LoadTestSettings.getInt("loadtest.warmUpSeconds", 5);
+    final List<String> selected = List.of(LoadTestSettings.getString("loadtest.scenarios",
+      String.join(",", SCENARIOS.stream().map(Scenario::name).toList())).split(","));
+
+    final var results = new JsonArray();
+    for (Scenario scenario : SCENARIOS) {
+      if (!selected.contains(scenario.name())) {
+        continue;
+      }
+
+      final int rps = LoadTestSettings.getInt("loadtest." + scenario.name() + ".rps",
+        LoadTestSettings.getInt("loadtest.rps", 50));
+
+      run(scenario, rps, warmUpSeconds);
+      final var recorder = run(scenario, rps, durationSeconds);
+      final var summary = recorder.summary().put("targetRps", rps);
+      logger.info("patronEndpointsUnderLoad:: {}", summary.encode());
+      results.add(summary);
+
+      assertTrue(recorder.count() > recorder.errors(),
+        "No request of scenario " + scenario.name() + " succeeded");
+    }
+
+    final var output = Path.of(LoadTestSettings.getString("loadtest.output",
+      "target/load-test/results.json"));
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    Files.writeString(output, new JsonObject()
+      .put("settings", new JsonObject()
+        .put("durationSeconds", durationSeconds)
+        .put("warmUpSeconds", warmUpSeconds)
+        .put("records", LoadTestSettings.getInt("loadtest.records", 100))
+        .put("fakeOkapiLatencyMs", fakeOkapiLatencies()))
+      .put("scenarios", results)
+      .encodePrettily());
+
+    logger.info("patronEndpointsUnderLoad:: results written to {}", output.toAbsolutePath());
+  }
+
+  /**
+   * Sends {@code rps} requests a second for {@code seconds} seconds, each one at the
+   * time it is due whether the previous ones have been answered or not
+   */
+  @SneakyThrows
+  private LatencyRecorder run(Scenario scenario, int rps, int seconds) {
+    final int total = Math.max(0, rps * seconds);
+    final var recorder = new LatencyRecorder(scenario.name(), total);
+    if (total == 0) {
+      return recorder;
+    }
+
+    final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rps);
+    final long start = System.nanoTime();
+    final var sent = new AtomicInteger();
+    final var completed = new AtomicInteger();
+    final var done = new CompletableFuture<Void>();
+
+    vertx.setPeriodic(1, timerId -> {
+      final long now = System.nanoTime();
+      while (sent.get() < total && start + sent.get() * interval <= now) {
+        final long intendedStart = start + sent.getAndIncrement() * interval;
+
+        send(scenario).onComplete(result -> {
+          recorder.record(intendedStart, System.nanoTime(),
+            result.succeeded() && result.result().statusCode() < 300);
+          if (completed.incrementAndGet() == total) {
+            done.complete(null);
+          }
+        });
+      }
+      if (sent.get() == total) {
+        vertx.cancelTimer(timerId);
+      }
+    });
+
+    done.get(seconds + 120L, TimeUnit.SECONDS);
+    return recorder;
+  }
+
+  private static JsonObject fakeOkapiLatencies() {
+    final var latencies = new JsonObject();
+    fakeOkapi.latencies().forEach(latencies::put);
+    return latencies;
+  }
+
+  private Future<HttpResponse<Buffer>> send(Scenario scenario) {
+    final var request = client.request(scenario.method(), scenario.uri())
+      .putHeader("X-Okapi-Tenant", TENANT)
+      .putHeader("X-Okapi-Url", fakeOkapi.url())
+      .putHeader("Content-Type", "application/json");
+
+    return scenario.body() == null
+      ? request.send()
+      : request.sendBuffer(Buffer.buffer(scenario.body()));
+  }
+
+  private static String mockBody(String mockFile) {
+    return readMockFile(MOCK_DATA_FOLDER + "/" + mockFile);
+  }
+
+  private record Scenario(String name, HttpMethod method, String uri, String body) { }
+}
@@ -0,0 +1,145 @@
+package org.folio.metrics;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import org.folio.cache.ExpiringAsyncCache;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+class ModuleMetricsTest {
+
+  @Test
+  void replacesIdsInDownstreamPaths() {
+    assertEquals("/users/{id}",
+      ModuleMetrics.pathTemplate("/users/1ec54964-70f0-44cc-bd19-2a892ea0d336"));
+    assertEquals("/circulation-bff/instance/{id}/batch-requests/{id}/details",
+      ModuleMetrics.pathTemplate("/circulation-bff/instance/f39fd3ca-e3fb-4cd9-8cf9-48e7e2c494e5"
+        + "/batch-requests/5203c035-005e-4a70-b555-ddaa3094c51c/details"));
+    assertEquals("/circulation/loans", ModuleMetrics.pathTemplate("/circulation/loans"));
+  }
+
+  @Test
+  void groupsStatusCodesByClass() {
+    assertEquals("2xx", ModuleMetrics.statusClass(201));
+    assertEquals("5xx", ModuleMetrics.statusClass(503));
+    assertEquals("error", ModuleMetrics.statusClass(-1));
+  }
+
+  @Test
+  void recordsDownstreamRequestsByPathTemplate() {
+    ModuleMetrics.recordDownstreamRequest("GET",
+      "/inventory/items/32e5757d-6566-466e-b69d-994eb33d2b62", "diku", 200,
+      TimeUnit.MILLISECONDS.toNanos(12));
+
+    final var timer = ModuleMetrics.getRegistry("diku").find(ModuleMetrics.DOWNSTREAM_REQUESTS)
+      .tags("method", "GET", "path", "/inventory/items/{id}", "status", "2xx")
+      .timer();
+
+    assertTrue(timer != null && timer.count() >= 1);
+    assertTrue(ModuleMetrics.getRegistry().find(ModuleMetrics.DOWNSTREAM_REQUESTS)
+      .tags("method", "GET", "path", "/inventory/items/{id}", "status", "2xx")
+      .timer() != null);
+  }
+
+  @Test
+  void publishesHistogramsOnlyForAllTheTenantsTogether() {
+    ModuleMetrics.recordDownstreamRequest("GET", "/users/1ec54964-70f0-44cc-bd19-2a892ea0d336",
+      "diku", 200, TimeUnit.MILLISECONDS.toNanos(5));
+
+    assertFalse(ModuleMetrics.scrape("diku").contains("_bucket"));
+    assertTrue(ModuleMetrics.scrape("supertenant")
+      .contains("patron_downstream_requests_seconds_bucket"));
+  }
+
+  @Test
+  void scrapesTheSeriesOfTheCallingTenantOnly() {
+    ModuleMetrics.recordDownstreamRequest("GET", "/circulation/loans", "diku", 200,
+      TimeUnit.MILLISECONDS.toNanos(5));
+    ModuleMetrics.recordDownstreamRequest("GET", "/circulation/requests", "other", 200,
+      TimeUnit.MILLISECONDS.toNanos(5));
+    ModuleMetrics.recordStage("save", TimeUnit.MILLISECONDS.toNanos(1));
+
+    final var scraped = ModuleMetrics.scrape("diku");
+
+    assertTrue(scraped.contains("path=\"/circulation/loans\""));
+    assertFalse(scraped.contains("path=\"/circulation/requests\""));
+    assertFalse(scraped.contains("patron_stages_seconds"));
+    assertTrue(ModuleMetrics.scrape("supertenant").contains("patron_stages_seconds"));
+    assertEquals("", ModuleMetrics.scrape("unknown"));
+  }
+
+  @Test
+  void recordsEndpointResultAndPassesItOn() {
+    final var handled = new AtomicReference<AsyncResult<Response>>();
+    final AsyncResult<Response> result = succeededFuture(Response.status(422).build());
+
+    ModuleMetrics.timeEndpoint("POST", "/patron/account/{id}/item/{itemId}/hold",
+      Map.of("x-okapi-tenant", "diku"), handled::set, null).handle(result);
+
+    assertSame(result, handled.get());
+    assertTrue(ModuleMetrics.getRegistry().find(ModuleMetrics.ENDPOINT_REQUESTS)
+      .tags("endpoint", "/patron/account/{id}/item/{itemId}/hold", "status", "4xx")
+      .timer() != null);
+  }
+
+  @Test
+  void derivesTheEndpointFromTheAnnotationsOfTheHandler() {
+    final var handled = new AtomicReference<AsyncResult<Response>>();
+
+    new AccountHandlers().getAccountById("1ec54964-70f0-44cc-bd19-2a892ea0d336",
+      Map.of("x-okapi-tenant", "diku"), handled::set);
+
+    assertEquals(200, handled.get().result().getStatus());
+    assertTrue(ModuleMetrics.getRegistry().find(ModuleMetrics.ENDPOINT_REQUESTS)
+      .tags("method", "GET", "endpoint", "/patron/account/{id}", "status", "2xx")
+      .timer() != null);
+  }
+
+  @Test
+  void exposesCacheCounters() {
+    final var cache = ModuleMetrics.bindCache(
+      new ExpiringAsyncCache<String, String>("metrics-test", 1, TimeUnit.MINUTES, 10));
+
+    cache.get("key", () -> completedFuture("value")).join();
+    cache.get("key", () -> completedFuture("value")).join();
+
+    final var registry = ModuleMetrics.getRegistry();
+    assertEquals(1.0, registry.get("patron.cache.hits").tag("cache", "metrics-test")
+      .functionCounter().count());
+    assertEquals(1.0, registry.get("patron.cache.misses").tag("cache", "metrics-test")
+      .functionCounter().count());
+  }
+
+  @Path("/patron")
+  interface AccountApi {
+    @GET
+    @Path("/account/{id}")
+    void getAccountById(String id, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler);
+  }
+
+  static class AccountHandlers implements AccountApi {
+    @Override
+    public void getAccountById(String id, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler) {
+
+      ModuleMetrics.timeEndpoint(okapiHeaders, asyncResultHandler, null)
+        .handle(succeededFuture(Response.ok().build()));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package org.folio.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Vertx;
+
+class ServerTimingTest {
+
+  @Test
+  void tracksOnlyRequestsThatAskForIt() {
+    final var vertx = Vertx.vertx();
+    try {
+      final var vertxContext = vertx.getOrCreateContext();
+
+      ServerTiming.track(vertxContext, Map.of("x-okapi-tenant", "diku"));
+      assertNull(ServerTiming.stop(vertxContext));
+
+      ServerTiming.track(vertxContext, Map.of("x-okapi-tenant", "diku",
+        "x-okapi-server-timing", "true"));
+      assertNotNull(ServerTiming.stop(vertxContext));
+      assertNull(ServerTiming.stop(vertxContext));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  void reportsRequestsToTheSamePathTogether() {
+    final var serverTiming = new ServerTiming();
+
+    serverTiming.record("GET", "/users/1ec54964-70f0-44cc-bd19-2a892ea0d336",
+      millis(0), millis(12));
+    serverTiming.record("GET", "/circulation/loans", millis(12), millis(100));
+    serverTiming.record("GET", "/circulation/loans", millis(20), millis(152));
+
+    final var header = serverTiming.toHeaderValue();
+
+    assertTrue(header.startsWith("users;desc=\"GET /users/{id}\";dur=12.0;count=1, "
+      + "loans;desc=\"GET /circulation/loans\";dur=140.0;count=2, total;dur="), header);
+  }
+
+  @Test
+  void reportsTotalWithoutRequests() {
+    assertTrue(new ServerTiming().toHeaderValue().startsWith("total;dur="));
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,46 @@
+package org.folio.metrics;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class StageTimingsTest {
+
+  @Test
+  void recordsStageWhenItCompletes() {
+    var timings = new StageTimings();
+    var stage = new CompletableFuture<String>();
+
+    var timed = timings.time("item", () -> stage);
+    assertTrue(timings.getDurationsMillis().isEmpty());
+
+    stage.complete("item");
+    assertEquals("item", timed.join());
+    assertTrue(timings.getDurationsMillis().containsKey("item"));
+  }
+
+  @Test
+  void recordsFailedStage() {
+    var timings = new StageTimings();
+
+    timings.time("user", () -> failedFuture(new IllegalStateException("boom")));
+
+    assertTrue(timings.getDurationsMillis().containsKey("user"));
+  }
+
+  @Test
+  void addsUpRepeatedStages() {
+    var timings = new StageTimings();
+
+    timings.record("policy", 2_000_000);
+    timings.record("policy", 3_000_000);
+
+    assertEquals(Map.of("policy", 5L), timings.getDurationsMillis());
+    assertEquals("{policy=5ms}", timings.toString());
+  }
+}
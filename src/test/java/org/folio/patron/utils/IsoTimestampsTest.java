@@ -0,0 +1,53 @@
+package org.folio.patron.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+class IsoTimestampsTest {
+
+  @Test
+  void decodesTheTimestampsOfOtherModules() {
+    assertMillis("2018-06-01T11:12:00.000Z", "2018-06-01T11:12:00.000Z");
+    assertMillis("2018-06-01T11:12:00Z", "2018-06-01T11:12:00Z");
+    assertMillis("2525-01-01T11:12:00.000+00:00", "2525-01-01T11:12:00Z");
+    assertMillis("2018-02-28T23:30:00.5+0130", "2018-02-28T22:00:00.500Z");
+    assertMillis("2024-02-29T00:00:00.123456789-05:00", "2024-02-29T05:00:00.123Z");
+    assertMillis("1969-12-31T23:59:59.999Z", "1969-12-31T23:59:59.999Z");
+  }
+
+  @Test
+  void decodesOtherTimestampsLeniently() {
+    assertMillis("2018-06-01", "2018-06-01T00:00:00Z");
+    assertMillis("2018-06-01T11:12", "2018-06-01T11:12:00Z");
+    assertMillis("2018-06-01T11:12:13.456", "2018-06-01T11:12:13.456Z");
+    assertMillis("2018-06-01T11:12:13+02", "2018-06-01T09:12:13Z");
+  }
+
+  @Test
+  void returnsTheCurrentTimeWithoutTimestamp() {
+    final long before = System.currentTimeMillis();
+    final long now = IsoTimestamps.toDate(null).getTime();
+    final long after = System.currentTimeMillis();
+
+    assertTrue(before <= now && now <= after, "toDate(null) is not the current time");
+  }
+
+  @Test
+  void rejectsInvalidTimestamps() {
+    assertThrows(DateTimeParseException.class, () -> IsoTimestamps.toDate("2018-02-30T00:00:00Z"));
+    assertThrows(DateTimeParseException.class, () -> IsoTimestamps.toDate("yesterday"));
+  }
+
+  private static void assertMillis(String timestamp, String expected) {
+    assertEquals(Instant.parse(expected).toEpochMilli(), IsoTimestamps.toEpochMilli(timestamp));
+    assertEquals(OffsetDateTime.parse(expected).toInstant().toEpochMilli(),
+      IsoTimestamps.toDate(timestamp).getTime());
+  }
+}
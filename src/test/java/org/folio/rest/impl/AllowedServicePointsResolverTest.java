@@ -0,0 +1,119 @@
+package org.folio.rest.impl;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class AllowedServicePointsResolverTest {
+  private static final String HOLDINGS_ID = "d1a3e1f4-0d6a-4b2c-9a7e-5f3c2b1a0e9d";
+
+  private final List<String> requestedItemIds = new ArrayList<>();
+
+  @Test
+  void asksCirculationOncePerGroupOfEquivalentItems() {
+    final var items = Map.of(
+      "item-1", item("location-1", "Checked out"),
+      "item-2", item("location-1", "Checked out"),
+      "item-3", item("location-2", "Checked out"),
+      "item-4", item("location-1", "Available"));
+
+    final var servicePoints = resolver(items)
+      .resolve(List.of("item-1", "item-2", "item-3", "item-4"))
+      .join();
+
+    assertEquals(List.of("item-1", "item-3", "item-4"), requestedItemIds);
+    assertSame(servicePoints.get("item-1"), servicePoints.get("item-2"));
+    assertEquals("item-3", servicePoints.get("item-3").getString("askedFor"));
+  }
+
+  @Test
+  void resolvesItemsThatWereNotFoundOnTheirOwn() {
+    final var items = Map.of("item-1", item("location-1", "Checked out"),
+      "item-2", item("location-1", "Checked out").put("materialType", new JsonObject()));
+
+    final var servicePoints = resolver(items)
+      .resolve(List.of("item-1", "item-2", "item-3"))
+      .join();
+
+    assertEquals(List.of("item-1", "item-2", "item-3"), requestedItemIds);
+    assertEquals(3, servicePoints.size());
+  }
+
+  @Test
+  void resolvesEachItemOnItsOwnWhenTheItemsCannotBeLookedUp() {
+    final var resolver = new AllowedServicePointsResolver(
+      ids -> failedFuture(new IllegalStateException("inventory is down")),
+      this::askCirculation);
+
+    final var servicePoints = resolver.resolve(List.of("item-1", "item-2")).join();
+
+    assertEquals(List.of("item-1", "item-2"), requestedItemIds);
+    assertEquals(2, servicePoints.size());
+  }
+
+  @Test
+  void doesNotLookUpASingleItem() {
+    final var resolver = new AllowedServicePointsResolver(
+      ids -> { throw new AssertionError("items should not be looked up"); },
+      this::askCirculation);
+
+    assertEquals(1, resolver.resolve(List.of("item-1", "item-1")).join().size());
+  }
+
+  @Test
+  void failsWhenCirculationFails() {
+    final var resolver = new AllowedServicePointsResolver(ids -> completedFuture(Map.of()),
+      itemId -> failedFuture(new IllegalStateException("circulation is down")));
+
+    final var result = resolver.resolve(List.of("item-1", "item-2"));
+
+    assertThrows(CompletionException.class, result::join);
+  }
+
+  @Test
+  void prefersTheTemporaryLoanTypeAndCirculationItemReferences() {
+    final var inventoryItem = item("location-1", "Available")
+      .put("temporaryLoanType", new JsonObject().put("id", "loan-type-2"));
+    final var circulationItem = new JsonObject()
+      .put("holdingsRecordId", HOLDINGS_ID)
+      .put("effectiveLocationId", "location-1")
+      .put("materialTypeId", "material-type-1")
+      .put("temporaryLoanTypeId", "loan-type-2")
+      .put("status", new JsonObject().put("name", "Available"));
+
+    assertEquals(AllowedServicePointsResolver.EquivalenceKey.of(inventoryItem),
+      AllowedServicePointsResolver.EquivalenceKey.of(circulationItem));
+    assertNull(AllowedServicePointsResolver.EquivalenceKey.of(new JsonObject()));
+  }
+
+  private AllowedServicePointsResolver resolver(Map<String, JsonObject> items) {
+    return new AllowedServicePointsResolver(ids -> completedFuture(items), this::askCirculation);
+  }
+
+  private CompletableFuture<JsonObject> askCirculation(String itemId) {
+    requestedItemIds.add(itemId);
+    return completedFuture(new JsonObject().put("askedFor", itemId));
+  }
+
+  private static JsonObject item(String locationId, String status) {
+    return new JsonObject()
+      .put("holdingsRecordId", HOLDINGS_ID)
+      .put("effectiveLocation", new JsonObject().put("id", locationId))
+      .put("materialType", new JsonObject().put("id", "material-type-1"))
+      .put("permanentLoanType", new JsonObject().put("id", "loan-type-1"))
+      .put("status", new JsonObject().put("name", status));
+  }
+}
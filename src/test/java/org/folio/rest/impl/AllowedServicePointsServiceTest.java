@@ -0,0 +1,80 @@
+package org.folio.rest.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.folio.rest.jaxrs.model.AllowedServicePoint;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class AllowedServicePointsServiceTest {
+  private static final String PATH = "/circulation/requests/allowed-service-points";
+  private static final String CIRC_DESK_1 = "3a40852d-49fd-4df2-a1f9-6e2641a6e91f";
+  private static final String CIRC_DESK_2 = "c4c90014-c8c9-4ade-8f24-b5e313319f4b";
+
+  @Test
+  void collectsEachServicePointOnce() {
+    final var body = new JsonObject()
+      .put("Page", new JsonArray().add(servicePoint(CIRC_DESK_1, "Circ Desk 1")))
+      .put("Hold", new JsonArray()
+        .add(servicePoint(CIRC_DESK_1, "Circ Desk 1"))
+        .add(servicePoint(CIRC_DESK_2, "Circ Desk 2")))
+      .put("Recall", new JsonArray().add(servicePoint(CIRC_DESK_2, "Circ Desk 2")));
+
+    final var servicePoints = AllowedServicePointsService.collect(body);
+
+    assertEquals(List.of(CIRC_DESK_1, CIRC_DESK_2),
+      servicePoints.stream().map(AllowedServicePoint::getId).toList());
+    assertEquals("Circ Desk 1 discovery", servicePoints.iterator().next().getDiscoveryName());
+  }
+
+  @Test
+  void collectsNothingWhenNoRequestTypeIsAllowed() {
+    assertTrue(AllowedServicePointsService.collect(new JsonObject()).isEmpty());
+  }
+
+  @Test
+  void isNotCachedWithoutThePatronGroupOrTheItemProfile() {
+    final var user = new JsonObject().put("patronGroup", "group-1");
+
+    assertNull(AllowedServicePointsService.CacheKey.of(PATH, null, item("Available")));
+    assertNull(AllowedServicePointsService.CacheKey.of(PATH, new JsonObject(), item("Available")));
+    assertNull(AllowedServicePointsService.CacheKey.of(PATH, user, null));
+    assertNull(AllowedServicePointsService.CacheKey.of(PATH, user,
+      item("Available").put("materialType", new JsonObject())));
+  }
+
+  @Test
+  void keyMatchesItemsLikeTheOneHeldWhateverTheirStatus() {
+    final var user = new JsonObject().put("patronGroup", "group-1");
+    final var key = AllowedServicePointsService.CacheKey.of(PATH, user, item("Available"));
+
+    assertEquals(new AllowedServicePointsService.CacheKey(PATH, "group-1", "location-1",
+      "material-type-1", "loan-type-1", "Available"), key);
+    assertTrue(key.isFor(AllowedServicePointsResolver.EquivalenceKey.of(item("Paged"))));
+    assertFalse(key.isFor(AllowedServicePointsResolver.EquivalenceKey.of(item("Paged")
+      .put("effectiveLocation", new JsonObject().put("id", "location-2")))));
+  }
+
+  private static JsonObject servicePoint(String id, String name) {
+    return new JsonObject()
+      .put("id", id)
+      .put("name", name)
+      .put("discoveryDisplayName", name + " discovery");
+  }
+
+  private static JsonObject item(String status) {
+    return new JsonObject()
+      .put("holdingsRecordId", "d1a3e1f4-0d6a-4b2c-9a7e-5f3c2b1a0e9d")
+      .put("effectiveLocation", new JsonObject().put("id", "location-1"))
+      .put("materialType", new JsonObject().put("id", "material-type-1"))
+      .put("permanentLoanType", new JsonObject().put("id", "loan-type-1"))
+      .put("status", new JsonObject().put("name", status));
+  }
+}
@@ -11,6 +11,7 @@ import org.folio.support.OkapiUrl;
 import org.folio.support.VertxModule;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import io.restassured.RestAssured;
@@ -80,6 +81,15 @@ public abstract class BaseResourceServiceTest {
     logger.info("Patron Services Test Setup Done using port {}", OKAPI_PORT);
   }
 
+  @BeforeEach
+  void resetCaches() {
+    EcsTlrSettingsService.getCache().invalidateAll();
+    LocaleSettingsService.getCache().invalidateAll();
+    RequestPolicyService.getRequestPolicyIdCache().invalidateAll();
+    RequestPolicyService.getRequestPolicyCache().invalidateAll();
+    AllowedServicePointsService.getAllowedServicePointsCache().invalidateAll();
+  }
+
   @AfterAll
   public static void tearDownClass(VertxTestContext context) {
     logger.info("Patron Services Testing Complete");
@@ -0,0 +1,52 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Okapi only lets the module call the other modules with the module permissions of
+ * the handler, so each handler has to list those of all the calls it makes
+ */
+class ModuleDescriptorTest {
+  private static final Path MODULE_DESCRIPTOR = Path.of("descriptors/ModuleDescriptor-template.json");
+
+  @Test
+  void itemAllowedServicePointsMayLookUpTheUserAndTheItem() throws IOException {
+    assertThat(modulePermissions("GET", "/patron/account/{accountId}/item/{itemId}/allowed-service-points"),
+      hasItems("circulation.requests.allowed-service-points.get", "users.item.get",
+        "inventory.items.item.get", "circulation-item.item.get"));
+  }
+
+  @Test
+  void multiItemAllowedServicePointsMayLookUpTheItems() throws IOException {
+    assertThat(modulePermissions("POST",
+        "/patron/account/{accountId}/instance/{instanceId}/allowed-service-points-multi-item"),
+      hasItems("inventory.items.collection.get", "circulation-item.item.get"));
+  }
+
+  private static List<Object> modulePermissions(String method, String pathPattern)
+    throws IOException {
+
+    final var descriptor = new JsonObject(Files.readString(MODULE_DESCRIPTOR));
+
+    return descriptor.getJsonArray("provides").stream()
+      .map(JsonObject.class::cast)
+      .flatMap(provided -> provided.getJsonArray("handlers", new JsonArray()).stream())
+      .map(JsonObject.class::cast)
+      .filter(handler -> handler.getJsonArray("methods").contains(method)
+        && pathPattern.equals(handler.getString("pathPattern")))
+      .findFirst()
+      .map(handler -> handler.getJsonArray("modulePermissions", new JsonArray()).getList())
+      .orElseThrow(() -> new AssertionError("No handler for " + method + " " + pathPattern));
+  }
+}
@@ -0,0 +1,114 @@
+package org.folio.rest.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.patron.rest.models.LoansCollection;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class PagedCollectionFetcherTest {
+
+  @Test
+  void sortsThePagesByIdLast() {
+    assertEquals("(userId==1 and status.name==Open) sortBy id",
+      PagedCollectionFetcher.withStableOrder("(userId==1 and status.name==Open)"));
+    assertEquals("(userId==1 and status.name==Open) sortBy dueDate/sort.descending id",
+      PagedCollectionFetcher.withStableOrder("(userId==1 and status.name==Open) sortBy dueDate/sort.descending"));
+    assertEquals("(requesterId==1 and status==Open*) sortBy id/sort.descending",
+      PagedCollectionFetcher.withStableOrder("(requesterId==1 and status==Open*) sortBy id/sort.descending"));
+  }
+
+  @Test
+  void mergesAllPagesInOrder() {
+    final var fetcher = new PagedCollectionFetcher(null, 2, 2, 100);
+
+    final var body = fetcher.fetchAll("loans", new FakeCollection(5)).join();
+
+    assertEquals(5, body.getInteger("totalRecords").intValue());
+    assertEquals(new JsonArray(List.of(0, 1, 2, 3, 4)), body.getJsonArray("loans"));
+  }
+
+  @Test
+  void mergesTypedPagesInOrder() {
+    final var collection = new FakeCollection(5);
+    final var fetcher = new PagedCollectionFetcher(null, 2, 2, 100);
+
+    final var loans = fetcher.<LoansCollection>fetchAll("loans",
+      (offset, limit) -> collection.load(offset, limit)
+        .thenApply(body -> new LoansCollection(body.getJsonArray("loans").stream()
+          .map(id -> new LoansCollection.Loan(id.toString(), null, null, null, null))
+          .toList(), body.getInteger("totalRecords"))),
+      LoansCollection::totalRecords, LoansCollection::withPages).join();
+
+    assertEquals(5, loans.totalRecords());
+    assertEquals(List.of("0", "1", "2", "3", "4"),
+      loans.loans().stream().map(LoansCollection.Loan::id).toList());
+  }
+
+  @Test
+  void stopsAtTheMaximumNumberOfRecords() {
+    final var collection = new FakeCollection(10);
+    final var fetcher = new PagedCollectionFetcher(null, 3, 2, 4);
+
+    final var body = fetcher.fetchAll("loans", collection).join();
+
+    assertEquals(10, body.getInteger("totalRecords").intValue());
+    assertEquals(new JsonArray(List.of(0, 1, 2, 3)), body.getJsonArray("loans"));
+    assertEquals(List.of("0+3", "3+1"), collection.requests);
+  }
+
+  @Test
+  void limitsThePagesInFlight() {
+    final var pending = new ArrayList<CompletableFuture<JsonObject>>();
+    final var inFlight = new AtomicInteger();
+    final var peakInFlight = new AtomicInteger();
+    final var collection = new FakeCollection(9);
+    final var fetcher = new PagedCollectionFetcher(null, 1, 2, 100);
+
+    final var result = fetcher.fetchAll("loans", (offset, limit) -> {
+      if (offset == 0) {
+        return collection.load(offset, limit);
+      }
+      peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      final var page = new CompletableFuture<JsonObject>();
+      pending.add(page);
+      return page.thenCombine(collection.load(offset, limit), (notUsed, body) -> body);
+    });
+
+    while (!pending.isEmpty()) {
+      inFlight.decrementAndGet();
+      pending.remove(0).complete(null);
+    }
+
+    assertEquals(2, peakInFlight.get());
+    assertEquals(9, result.join().getJsonArray("loans").size());
+  }
+
+  private static class FakeCollection implements PagedCollectionFetcher.PageLoader<JsonObject> {
+    private final int totalRecords;
+    private final List<String> requests = new ArrayList<>();
+
+    FakeCollection(int totalRecords) {
+      this.totalRecords = totalRecords;
+    }
+
+    @Override
+    public CompletableFuture<JsonObject> load(int offset, int limit) {
+      requests.add(offset + "+" + limit);
+      final var records = new JsonArray();
+      for (int i = offset; i < Math.min(offset + limit, totalRecords); i++) {
+        records.add(i);
+      }
+      return CompletableFuture.completedFuture(new JsonObject()
+        .put("loans", records)
+        .put("totalRecords", totalRecords));
+    }
+  }
+}
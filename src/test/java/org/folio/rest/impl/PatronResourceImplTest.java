@@ -14,6 +14,8 @@ import static org.folio.rest.impl.Constants.JSON_FIELD_HOLDINGS_RECORD_ID;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -21,16 +23,31 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.metrics.ServerTiming;
 import org.folio.okapi.common.UrlDecoder;
+import org.folio.rest.impl.PatronServicesResourceImpl.AccountOptions;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.Hold;
+import org.folio.rest.jaxrs.model.HoldJob;
+import org.folio.rest.jaxrs.model.IdempotentHold;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +61,7 @@ import io.restassured.http.ContentType;
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
@@ -53,6 +71,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import lombok.SneakyThrows;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 import uk.org.webcompere.systemstubs.jupiter.SystemStub;
 import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
@@ -65,6 +84,7 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
   private final String patronAccountRegistrationStatus = "/patron/registration-status";
   private final String itemPath = "/item/{itemId}";
   private final String holdPath = "/hold";
+  private final String holdJobPath = "/hold-job";
   private final String holdIdPath = "/{holdId}";
   private final String renewPath = "/renew";
   private final String cancelPath = "/cancel";
@@ -127,7 +147,9 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
   private boolean tlrEnabled;
   private boolean ecsTlrFeatureEnabledInTlr = false;
   private boolean ecsTlrFeatureEnabledInCirculation = false;
+  private final AtomicInteger circulationRequestPosts = new AtomicInteger();
   private boolean inventoryItemSearchShouldReturn404 = false;
+  private boolean inventoryInstanceSearchShouldReturnNothing = false;
   private boolean instanceIsInCentralTenantOnly = false;
 
   @SystemStub
@@ -144,6 +166,7 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     server.requestHandler(this::mockData);
     server.listen(serverPort, "localhost");
     inventoryItemSearchShouldReturn404 = false;
+    inventoryInstanceSearchShouldReturnNothing = false;
     instanceIsInCentralTenantOnly = false;
     context.completeNow();
   }
@@ -265,6 +288,114 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     logger.info("Test done");
   }
 
+  @Test
+  void testGetPatronAccountByIdWithPartialResultsReportsEverySectionOk(Vertx vertx) {
+    logger.info("Testing the section statuses of an account whose sections all complete");
+
+    final JsonObject json = getAccountWithPartialResults(vertx, null);
+
+    assertEquals(new JsonObject().put("loans", "ok").put("holds", "ok").put("charges", "ok"),
+      json.getJsonObject("sectionStatuses"));
+    assertEquals(3, json.getInteger("totalLoans"));
+    assertEquals(3, json.getInteger("totalHolds"));
+    assertEquals(5, json.getInteger("totalChargesCount"));
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetPatronAccountByIdWithPartialResultsLeavesOutASectionThatTimesOut(Vertx vertx) {
+    logger.info("Testing an account whose loans do not complete within the deadline");
+
+    final JsonObject json = getAccountWithPartialResults(vertx, "loans-slow");
+
+    assertEquals(new JsonObject().put("loans", "timeout").put("holds", "ok").put("charges", "ok"),
+      json.getJsonObject("sectionStatuses"));
+    assertEquals(new JsonArray(), json.getJsonArray("loans"));
+    assertEquals(0, json.getInteger("totalLoans"));
+    assertEquals(3, json.getInteger("totalHolds"));
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  @SneakyThrows
+  void testGetPatronAccountByIdWithPartialResultsAnswersOnTheEventLoopAfterATimeout(Vertx vertx) {
+    logger.info("Testing that an account with a section that times out is answered on the event loop");
+
+    final Map<String, String> okapiHeaders = Map.of(
+      tenantHeader.getName(), tenantHeader.getValue(),
+      urlHeader.getName(), urlHeader.getValue(),
+      okapiBadDataHeader, "loans-slow");
+    final var answeredOnEventLoop = new CompletableFuture<Boolean>();
+    final var vertxContext = vertx.getOrCreateContext();
+
+    vertxContext.runOnContext(notUsed -> new PatronServicesResourceImpl(
+        new AccountOptions(false, true, 500))
+      .getPatronAccountById(goodUserId, true, true, true, null, 0, Integer.MAX_VALUE, false,
+        okapiHeaders, result -> answeredOnEventLoop.complete(Context.isOnEventLoopThread()),
+        vertxContext));
+
+    assertTrue(answeredOnEventLoop.get(10, TimeUnit.SECONDS));
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetPatronAccountByIdWithPartialResultsLeavesOutASectionThatFails(Vertx vertx) {
+    logger.info("Testing an account whose charges cannot be fetched");
+
+    final JsonObject json = getAccountWithPartialResults(vertx, "accounts-error");
+
+    assertEquals(new JsonObject().put("loans", "ok").put("holds", "ok").put("charges", "error"),
+      json.getJsonObject("sectionStatuses"));
+    assertEquals(new JsonArray(), json.getJsonArray("charges"));
+    assertEquals(0, json.getInteger("totalChargesCount"));
+    assertEquals(0.0, json.getJsonObject("totalCharges").getDouble("amount"));
+    assertNotNull(json.getJsonObject("totalCharges").getString("isoCurrencyCode"));
+    assertEquals(3, json.getInteger("totalLoans"));
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  private JsonObject getAccountWithPartialResults(Vertx vertx, String badData) {
+    final var response = getAccount(vertx, new AccountOptions(false, true, 500), goodUserId,
+      true, badData);
+
+    assertEquals(200, response.getStatus());
+    return JsonObject.mapFrom(response.getEntity());
+  }
+
+  /**
+   * Gets the account from a resource with the given options, instead of going
+   * through the module, whose resources use the options it was started with
+   */
+  @SneakyThrows
+  private javax.ws.rs.core.Response getAccount(Vertx vertx, AccountOptions accountOptions,
+    String userId, boolean includeLists, String badData) {
+
+    final Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(tenantHeader.getName(), tenantHeader.getValue());
+    okapiHeaders.put(urlHeader.getName(), urlHeader.getValue());
+    if (badData != null) {
+      okapiHeaders.put(okapiBadDataHeader, badData);
+    }
+
+    final var response = new CompletableFuture<javax.ws.rs.core.Response>();
+    final var vertxContext = vertx.getOrCreateContext();
+
+    vertxContext.runOnContext(notUsed -> new PatronServicesResourceImpl(accountOptions)
+      .getPatronAccountById(userId, includeLists, includeLists, includeLists, null, 0,
+        Integer.MAX_VALUE, false, okapiHeaders, result -> response.complete(result.result()),
+        vertxContext));
+
+    return response.get(10, TimeUnit.SECONDS);
+  }
+
   @Test
   void testGetPatronAccountByIdSortedByItemId() {
     logger.info("Testing for successful patron services account retrieval by id and sorted by item title");
@@ -731,6 +862,60 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     logger.info("Test done");
   }
 
+  @Test
+  void testGetPatronAccountByIdWithParallelUserLookup(Vertx vertx) {
+    logger.info("Testing patron services account retrieval with the user looked up with the lists");
+
+    final var sequential = getAccount(vertx, new AccountOptions(false, false, 3000), goodUserId,
+      true, null);
+    final var parallel = getAccount(vertx, new AccountOptions(true, false, 3000), goodUserId,
+      true, null);
+
+    assertEquals(200, parallel.getStatus());
+    final JsonObject json = JsonObject.mapFrom(parallel.getEntity());
+    assertEquals(3, json.getInteger("totalLoans"));
+    assertEquals(3, json.getInteger("totalHolds"));
+    assertEquals(5, json.getInteger("totalChargesCount"));
+    // the same account as when the user is looked up first
+    assertEquals(JsonObject.mapFrom(sequential.getEntity()), json);
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetPatronAccountByIdWithParallelUserLookupDropsTheListsOfAnUnknownUser(Vertx vertx) {
+    logger.info("Testing for 404 due to unknown user id with the user looked up with the lists");
+
+    final var response = getAccount(vertx, new AccountOptions(true, false, 3000), badUserId,
+      true, null);
+
+    assertEquals(404, response.getStatus());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetPatronAccountByIdWithParallelUserLookupUserNotActive(Vertx vertx) {
+    logger.info("Testing patron services account retrieval of an inactive patron with the user looked up with the lists");
+
+    final var response = getAccount(vertx, new AccountOptions(true, false, 3000), inactiveUserId,
+      false, null);
+
+    assertEquals(200, response.getStatus());
+    final JsonObject json = JsonObject.mapFrom(response.getEntity());
+
+    // the same account as when the user is looked up first
+    assertEquals(1, json.getInteger("totalLoans"));
+    assertEquals(0, json.getInteger("totalHolds"));
+    assertEquals(1, json.getInteger("totalChargesCount"));
+    assertEquals(100.0, json.getJsonObject("totalCharges").getDouble("amount"));
+
+    // Test done
+    logger.info("Test done");
+  }
+
   @Test
   final void testGetPatronAccountWithInvalidRequestStatusByIdShouldReturn422Status() {
     logger.info("Testing for 422 due to invalid hold request status");
@@ -925,6 +1110,441 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     logger.info("Test done");
   }
 
+  @Test
+  void testPostPatronAccountByItemHoldWithIdempotencyKeyPlacesTheHoldOnce() {
+    logger.info("Testing retrying a hold on an item with the same Idempotency-Key");
+
+    final var idempotencyKey = new Header("Idempotency-Key", UUID.randomUUID().toString());
+    final var holds = new ArrayList<JsonObject>();
+
+    for (int i = 0; i < 2; i++) {
+      holds.add(new JsonObject(given()
+          .header(tenantHeader)
+          .header(urlHeader)
+          .header(contentTypeHeader)
+          .header(idempotencyKey)
+          .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+          .pathParam("accountId", goodUserId)
+          .pathParam("itemId", checkedoutItemId)
+        .when()
+          .post(accountPath + itemPath + holdPath)
+        .then()
+          .log().all()
+          .contentType(ContentType.JSON)
+          .statusCode(201)
+          .extract().asString()));
+    }
+
+    assertEquals(1, circulationRequestPosts.get());
+    assertEquals(holds.get(0), holds.get(1));
+
+    final var otherItemErrors = given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .header(idempotencyKey)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", availableItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .log().all()
+        .statusCode(422)
+        .extract()
+        .as(Errors.class);
+
+    assertEquals("IDEMPOTENCY_KEY_REUSED", otherItemErrors.getErrors().get(0).getCode());
+    assertEquals(1, circulationRequestPosts.get());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testPostPatronAccountByItemHoldWithIdempotencyKeyTakesOverAnExpiredClaim() {
+    logger.info("Testing a hold with the Idempotency-Key of a claim left behind by a stopped instance");
+
+    final var idempotencyKey = UUID.randomUUID().toString();
+    final var recordId = IdempotentHoldService.recordId(goodUserId, idempotencyKey);
+    final var expiredClaim = new IdempotentHold()
+      .withId(recordId)
+      .withIdempotencyKey(idempotencyKey)
+      .withPatronId(goodUserId)
+      .withItemId(checkedoutItemId)
+      .withStatus(IdempotentHold.Status.IN_PROGRESS)
+      .withExpiresAt(System.currentTimeMillis() - 1);
+
+    postgresClient.save(IdempotentHoldService.IDEMPOTENT_HOLD_TABLE, recordId, expiredClaim)
+      .toCompletionStage().toCompletableFuture().join();
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .header(new Header("Idempotency-Key", idempotencyKey))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .log().all()
+        .statusCode(201);
+
+    final var kept = postgresClient.getById(IdempotentHoldService.IDEMPOTENT_HOLD_TABLE, recordId,
+        IdempotentHold.class)
+      .toCompletionStage().toCompletableFuture().join();
+
+    assertEquals(IdempotentHold.Status.COMPLETED, kept.getStatus());
+    assertEquals(1, circulationRequestPosts.get());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testPostPatronAccountByItemHoldWithIdempotencyKeyIsPlacedAgainAfterARejection() {
+    logger.info("Testing retrying a rejected hold on an item with the same Idempotency-Key");
+
+    final var idempotencyKey = new Header("Idempotency-Key", UUID.randomUUID().toString());
+
+    given()
+        .headers(new Headers(tenantHeader, urlHeader, contentTypeHeader, idempotencyKey,
+            new Header("x-okapi-bad-item-id", badItemId),
+            new Header(okapiBadDataHeader, "422")))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(422);
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .header(idempotencyKey)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(201);
+
+    assertEquals(2, circulationRequestPosts.get());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testPostPatronAccountByItemHoldWithIdempotencyKeyIsNotPlacedAgainAfterAnUnknownOutcome() {
+    logger.info("Testing retrying a hold on an item that failed with a server error with the same Idempotency-Key");
+
+    final var idempotencyKey = UUID.randomUUID().toString();
+
+    given()
+        .headers(new Headers(tenantHeader, urlHeader, contentTypeHeader,
+            new Header("Idempotency-Key", idempotencyKey),
+            new Header(okapiBadDataHeader, "500")))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(500);
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .header(new Header("Idempotency-Key", idempotencyKey))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(409)
+        .body(containsString("may have been placed"));
+
+    final var unknown = postgresClient.getById(IdempotentHoldService.IDEMPOTENT_HOLD_TABLE,
+        IdempotentHoldService.recordId(goodUserId, idempotencyKey), IdempotentHold.class)
+      .toCompletionStage().toCompletableFuture().join();
+
+    assertEquals(IdempotentHold.Status.UNKNOWN, unknown.getStatus());
+    assertEquals(1, circulationRequestPosts.get());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testPostPatronAccountByItemHoldJobPlacesTheHoldInTheBackground()
+    throws InterruptedException {
+
+    logger.info("Testing submitting a hold job on an item for the specified user");
+
+    final var submitted = new JsonObject(given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdJobPath)
+      .then()
+        .log().all()
+        .contentType(ContentType.JSON)
+        .statusCode(202)
+        .extract().asString());
+
+    assertEquals("Pending", submitted.getString("status"));
+    assertEquals(checkedoutItemId, submitted.getString("itemId"));
+
+    final var job = awaitHoldJob(goodUserId, submitted.getString("id"));
+
+    assertEquals("Completed", job.getString("status"));
+    assertNotNull(job.getJsonObject("result").getString("requestId"));
+    assertEquals(1, circulationRequestPosts.get());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testPostPatronAccountByItemHoldJobReportsTheFailureOfTheHold()
+    throws InterruptedException {
+
+    logger.info("Testing a hold job on an item that fails");
+
+    final var submitted = new JsonObject(given()
+        .headers(new Headers(tenantHeader, urlHeader, contentTypeHeader,
+            new Header(okapiBadDataHeader, "500")))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdJobPath)
+      .then()
+        .statusCode(202)
+        .extract().asString());
+
+    final var job = awaitHoldJob(goodUserId, submitted.getString("id"));
+
+    assertEquals("Failed", job.getString("status"));
+    assertEquals(500, job.getInteger("errorStatusCode"));
+    assertNotNull(job.getString("errorMessage"));
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .pathParam("accountId", inactiveUserId)
+        .pathParam("holdJobId", submitted.getString("id"))
+      .when()
+        .get(accountPath + holdJobPath + "/{holdJobId}/status")
+      .then()
+        .statusCode(404);
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetPatronAccountHoldJobStatusOfUnknownJob() {
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .pathParam("accountId", goodUserId)
+        .pathParam("holdJobId", UUID.randomUUID().toString())
+      .when()
+        .get(accountPath + holdJobPath + "/{holdJobId}/status")
+      .then()
+        .log().all()
+        .statusCode(404);
+  }
+
+  @Test
+  void testGetPatronAccountHoldJobStatusFailsAJobThatTimedOut() {
+    final var waitingSince = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+    final var job = new HoldJob()
+      .withId(UUID.randomUUID().toString())
+      .withRequesterId(goodUserId)
+      .withItemId(checkedoutItemId)
+      .withHold(new Hold().withPickupLocationId(UUID.randomUUID().toString())
+        .withRequestDate(waitingSince))
+      .withStatus(HoldJob.Status.PENDING)
+      .withSubmittedDate(waitingSince)
+      .withUpdatedDate(waitingSince)
+      .withExpiresAt(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+    postgresClient.save(HoldJobService.HOLD_JOB_TABLE, job.getId(), job)
+      .toCompletionStage().toCompletableFuture().join();
+
+    final var reported = new JsonObject(given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .pathParam("accountId", goodUserId)
+        .pathParam("holdJobId", job.getId())
+      .when()
+        .get(accountPath + holdJobPath + "/{holdJobId}/status")
+      .then()
+        .log().all()
+        .statusCode(200)
+        .extract().asString());
+
+    assertEquals("Failed", reported.getString("status"));
+
+    // the job is failed for good, so that a worker picking it up later does not place it
+    final var stored = postgresClient.getById(HoldJobService.HOLD_JOB_TABLE, job.getId(), HoldJob.class)
+      .toCompletionStage().toCompletableFuture().join();
+    assertEquals(HoldJob.Status.FAILED, stored.getStatus());
+  }
+
+  private JsonObject awaitHoldJob(String accountId, String holdJobId)
+    throws InterruptedException {
+
+    for (int attempt = 0; attempt < 50; attempt++) {
+      final var job = new JsonObject(given()
+          .header(tenantHeader)
+          .header(urlHeader)
+          .pathParam("accountId", accountId)
+          .pathParam("holdJobId", holdJobId)
+        .when()
+          .get(accountPath + holdJobPath + "/{holdJobId}/status")
+        .then()
+          .statusCode(200)
+          .extract().asString());
+
+      final var status = job.getString("status");
+      if (!"Pending".equals(status) && !"In progress".equals(status)) {
+        return job;
+      }
+      Thread.sleep(100);
+    }
+
+    return fail("Hold job " + holdJobId + " was not finished");
+  }
+
+  @Test
+  void testDeleteRequestPolicyCacheDropsCachedPolicies() {
+    logger.info("Testing dropping the cached request policies of the tenant");
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(201);
+
+    assertEquals(1, RequestPolicyService.getRequestPolicyIdCache().size());
+    assertEquals(1, RequestPolicyService.getRequestPolicyCache().size());
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+      .when()
+        .delete("/patron/request-policy-cache")
+      .then()
+        .log().all()
+        .statusCode(204);
+
+    assertEquals(0, RequestPolicyService.getRequestPolicyIdCache().size());
+    assertEquals(0, RequestPolicyService.getRequestPolicyCache().size());
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testGetMetricsShowsEndpointAndDownstreamLatencies() {
+    logger.info("Testing the metrics of the endpoints and of the requests to other modules");
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(201);
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+      .when()
+        .get("/patron/metrics")
+      .then()
+        .statusCode(200)
+        .body(containsString("patron_endpoint_requests_seconds_count{endpoint=\"/patron/account/{id}/item/{itemId}/hold\""))
+        .body(containsString("path=\"/inventory/items/{id}\""))
+        .body(not(containsString("patron_stages_seconds_count")))
+        .body(not(containsString("patron_cache_hits_total")));
+
+    given()
+        .header(new Header("X-Okapi-Tenant", "supertenant"))
+        .header(urlHeader)
+      .when()
+        .get("/patron/metrics")
+      .then()
+        .statusCode(200)
+        .body(containsString("patron_endpoint_requests_seconds_bucket{endpoint=\"/patron/account/{id}/item/{itemId}/hold\""))
+        .body(containsString("patron_stages_seconds_count{stage=\"item\""))
+        .body(containsString("patron_cache_hits_total{cache=\"request-policy\""));
+
+    // Test done
+    logger.info("Test done");
+  }
+
+  @Test
+  void testServerTimingHeaderListsRequestsToOtherModules() {
+    logger.info("Testing the Server-Timing header of a timed request");
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .header(new Header(ServerTiming.REQUEST_HEADER, "true"))
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(201)
+        .header(ServerTiming.RESPONSE_HEADER, containsString("items;desc=\"GET /inventory/items/{id}\";dur="))
+        .header(ServerTiming.RESPONSE_HEADER, containsString("total;dur="));
+
+    given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .body(readMockFile(MOCK_DATA_FOLDER + "/request_testPostPatronAccountByIdItemByItemIdHold.json"))
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", checkedoutItemId)
+      .when()
+        .post(accountPath + itemPath + holdPath)
+      .then()
+        .statusCode(201)
+        .header(ServerTiming.RESPONSE_HEADER, nullValue());
+
+    // Test done
+    logger.info("Test done");
+  }
+
   @Test
   final void postPatronAccountItemHoldByIdShouldCallRequestMediatedIfTenantIsSecure() {
     environmentVariables.set(SECURE_TENANT_VARIABLE, TENANT);
@@ -1115,6 +1735,39 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     logger.info("Test done");
   }
 
+  @Test
+  void testChargeWithMissingInstanceKeepsOnlyTheItemId() {
+    logger.info("Testing charge referencing an item without instance keeps only the item id");
+    inventoryInstanceSearchShouldReturnNothing = true;
+
+    final Response r = given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .header(contentTypeHeader)
+      .pathParam("accountId", goodUserId)
+      .queryParam("includeCharges", "true")
+      .when()
+      .get(accountPath)
+      .then()
+      .log().all()
+      .contentType(ContentType.JSON)
+      .statusCode(200)
+      .extract().response();
+
+    final JsonObject response = new JsonObject(r.getBody().asString());
+    JsonObject actualItem = response.getJsonArray("charges").stream()
+      .map(JsonObject.class::cast)
+      .map(charge -> charge.getJsonObject("item"))
+      .filter(Objects::nonNull)
+      .filter(item -> itemBook1Id.equals(item.getString("itemId")))
+      .findFirst()
+      .orElseThrow(() -> new AssertionError("Expected item not found in charges"));
+
+    assertEquals(new JsonObject().put("itemId", itemBook1Id), actualItem);
+
+    logger.info("Test done");
+  }
+
   @Test
   void testGetPatronAccountByIdFetchesItemDataFromCirculationItem() {
     inventoryItemSearchShouldReturn404 = true;
@@ -1582,6 +2235,47 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
     logger.info("Test done");
   }
 
+  @Test
+  void allowedServicePointsForItemShouldBeCachedForThePatronGroupAndItem() {
+    logger.info("Testing that allowed service points for Item are cached");
+
+    final var cache = AllowedServicePointsService.getAllowedServicePointsCache();
+    final var hits = cache.getHitCount();
+    final var responses = new ArrayList<JsonObject>();
+
+    for (int i = 0; i < 2; i++) {
+      responses.add(new JsonObject(given()
+        .header(tenantHeader)
+        .header(urlHeader)
+        .header(contentTypeHeader)
+        .pathParam("accountId", goodUserId)
+        .pathParam("itemId", goodItemId)
+        .when()
+        .get(accountPath + itemPath + ALLOWED_SERVICE_POINTS_PATH)
+        .then()
+        .statusCode(200)
+        .extract()
+        .asString()));
+    }
+
+    assertEquals(hits + 1, cache.getHitCount());
+    assertEquals(1, cache.size());
+    final JsonObject expectedJson = new JsonObject(readMockFile(MOCK_DATA_FOLDER +
+      "/allowed_sp_mod_patron_expected_response.json"));
+    verifyAllowedServicePoints(expectedJson, responses.get(1));
+
+    given()
+      .header(tenantHeader)
+      .header(urlHeader)
+      .when()
+      .delete("/patron/request-policy-cache")
+      .then()
+      .statusCode(204);
+
+    assertEquals(0, cache.size());
+    logger.info("Test done");
+  }
+
   @Test
   void testPostAllowedServicePointsPerItemsShouldSucceed() {
     logger.info("Testing POST allowed service points for Items");
@@ -2479,7 +3173,12 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
           .putHeader("content-type", "text/plain")
           .end("Not Found");
       } else if (req.path().equals("/circulation/loans")) {
-        if (isInactiveUser(req)) {
+        if ("loans-slow".equals(req.getHeader(okapiBadDataHeader))) {
+          Vertx.currentContext().owner().setTimer(1000, notUsed -> req.response()
+            .setStatusCode(200)
+            .putHeader("content-type", "application/json")
+            .end(readMockFile(MOCK_DATA_FOLDER + "/loans_all_active.json")));
+        } else if (isInactiveUser(req)) {
           req.response()
             .setStatusCode(200)
             .putHeader("content-type", "application/json")
@@ -2515,6 +3214,7 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
         }
       } else if (req.path().equals("/circulation/requests")) {
         if (req.method() == HttpMethod.POST) {
+          circulationRequestPosts.incrementAndGet();
           final String badDataValue = req.getHeader("x-okapi-bad-data");
           if (req.getHeader("x-okapi-bad-item-id") != null) {
             req.response()
@@ -2705,7 +3405,9 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
           .putHeader("content-type", "application/json")
           .end(readMockFile(MOCK_DATA_FOLDER + "/holdingsRecord.json"));
       } else if (req.path().equals("/accounts")) {
-        if (isInactiveUser(req)) {
+        if ("accounts-error".equals(req.getHeader(okapiBadDataHeader))) {
+          req.response().setStatusCode(500).end("Fees/fines are unavailable");
+        } else if (isInactiveUser(req)) {
           req.response()
             .setStatusCode(200)
             .putHeader("content-type", "application/json")
@@ -2759,29 +3461,27 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
           .putHeader("content-type", "application/json")
           .end(readMockFile(MOCK_DATA_FOLDER + "/chargeitem_camera.json"));
       } else if (req.path().equals("/inventory/instances")) {
-        if (req.query() == null || ! req.query().matches("query=holdingsRecords\\.id%3D%3D%22.*%22")) {
-          req.response().setStatusCode(500).end("Unexpected /inventory/instances query: " + req.query());
-          return;
-        }
-        String file;
-        String id = req.query().substring(33, req.query().length() - 3);
-        switch (id) {
-        case holdingsBook1Id:  file = "/instance_book1.json";  break;
-        case holdingsBook2Id:  file = "/instance_book2.json";  break;
-        case holdingsBook3Id:  file = "/instance_book3.json";  break;
-        case holdingsCameraId: file = "/instance_camera.json"; break;
-        default:
-          req.response().setStatusCode(500).end(
-            "Unexpected holdings id " + id + " in /inventory/instances query: " + req.query());
-          return;
-        }
-        JsonObject instance = new JsonObject(readMockFile(MOCK_DATA_FOLDER + file));
-        JsonObject instances = new JsonObject().put("instances", new JsonArray().add(instance));
-        req.response()
-          .setStatusCode(200)
-          .putHeader("content-type", "application/json")
-          .end(instances.encodePrettily());
-
+        mockRecordsByIds(req, "instances", inventoryInstanceSearchShouldReturnNothing
+          ? Map.of()
+          : Map.of(
+            "6e024cd5-c19a-4fe0-a2cd-64ce5814c694", "/instance_book1.json",
+            "75d0799a-66d8-46cf-a7e3-ed7390425112", "/instance_book2.json",
+            "f3482bed-a7e9-4f07-beb0-ebd693331350", "/instance_book3.json",
+            "c394b514-9fd0-496d-ab9a-aec777facc1b", "/instance_camera.json"));
+      } else if (req.path().equals("/inventory/items")) {
+        mockRecordsByIds(req, "items", inventoryItemSearchShouldReturn404
+          ? Map.of()
+          : Map.of(
+            itemBook1Id, "/item_book1.json",
+            itemBook2Id, "/item_book2.json",
+            itemBook3Id, "/item_book3.json",
+            itemCameraId, "/item_camera.json"));
+      } else if (req.path().equals("/holdings-storage/holdings")) {
+        mockHoldingsRecordsByIds(req, Map.of(
+          holdingsBook1Id, "6e024cd5-c19a-4fe0-a2cd-64ce5814c694",
+          holdingsBook2Id, "75d0799a-66d8-46cf-a7e3-ed7390425112",
+          holdingsBook3Id, "f3482bed-a7e9-4f07-beb0-ebd693331350",
+          holdingsCameraId, "c394b514-9fd0-496d-ab9a-aec777facc1b"));
       } else if (req.path().matches("/inventory/items/.*") && inventoryItemSearchShouldReturn404) {
         req.response()
           .setStatusCode(404)
@@ -3212,4 +3912,55 @@ public class PatronResourceImplTest extends BaseResourceServiceTest {
       response.setStatusCode(404).end("batch request details not found");
     }
   }
+
+  private static List<String> idsInQuery(HttpServerRequest req) {
+    if (req.query() == null) {
+      return List.of();
+    }
+    final var query = UrlDecoder.decode(req.query());
+    if (!query.contains("query=id==(")) {
+      return List.of();
+    }
+    return Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}")
+      .matcher(query)
+      .results()
+      .map(MatchResult::group)
+      .toList();
+  }
+
+  private void mockRecordsByIds(HttpServerRequest req, String collectionName,
+    Map<String, String> filesById) {
+
+    final var records = new JsonArray();
+    idsInQuery(req).stream()
+      .filter(filesById::containsKey)
+      .map(id -> new JsonObject(readMockFile(MOCK_DATA_FOLDER + filesById.get(id))))
+      .forEach(records::add);
+
+    req.response()
+      .setStatusCode(200)
+      .putHeader("content-type", "application/json")
+      .end(new JsonObject()
+        .put(collectionName, records)
+        .put("totalRecords", records.size())
+        .encodePrettily());
+  }
+
+  private void mockHoldingsRecordsByIds(HttpServerRequest req, Map<String, String> instanceIdsById) {
+    final var records = new JsonArray();
+    idsInQuery(req).stream()
+      .filter(instanceIdsById::containsKey)
+      .map(id -> new JsonObject()
+        .put("id", id)
+        .put("instanceId", instanceIdsById.get(id)))
+      .forEach(records::add);
+
+    req.response()
+      .setStatusCode(200)
+      .putHeader("content-type", "application/json")
+      .end(new JsonObject()
+        .put("holdingsRecords", records)
+        .put("totalRecords", records.size())
+        .encodePrettily());
+  }
 }